@@ -103,6 +103,35 @@ public class SynchronizedTabulatedFunction implements TabulatedFunction {
         };
     }
 
+    // Копия координат точек, снятая за одну короткую блокировку
+    public static final class Snapshot {
+        public final double[] xValues;
+        public final double[] yValues;
+
+        private Snapshot(double[] xValues, double[] yValues) {
+            this.xValues = xValues;
+            this.yValues = yValues;
+        }
+    }
+
+    /**
+     * Копирует x и y всех точек в примитивные массивы.
+     * Блокировка удерживается только на время копирования; берутся оба монитора
+     * (сначала this, затем function — в том же порядке, что и при doSynchronously),
+     * чтобы снимок был согласован и с одиночными вызовами, и с составными операциями.
+     */
+    public Snapshot snapshot() {
+        synchronized (this) {
+            synchronized (function) {
+                int count = function.getCount();
+                double[] xValues = new double[count];
+                double[] yValues = new double[count];
+                TabulatedFunctionOperationService.toArrays(function, xValues, yValues);
+                return new Snapshot(xValues, yValues);
+            }
+        }
+    }
+
     @FunctionalInterface
     public interface Operation<T> {
         T apply(SynchronizedTabulatedFunction function);
@@ -1,6 +1,8 @@
 package functions;
 
 import exceptions.*;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.TabulatedFunctionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,7 +12,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class ArrayTabulatedFunction extends AbstractTabulatedFunction implements TabulatedFunction, Removable, Serializable {
+public class ArrayTabulatedFunction extends AbstractTabulatedFunction implements TabulatedFunction, Insertable, Removable, Serializable {
 
     @Serial
     private static final long serialVersionUID = 1817051781617987771L;
@@ -114,8 +116,12 @@ public class ArrayTabulatedFunction extends AbstractTabulatedFunction implements
      */
 
     public ArrayTabulatedFunction(double[] xValues, double[] yValues) {
+        this(xValues, yValues, true);
+    }
+
+    private ArrayTabulatedFunction(double[] xValues, double[] yValues, boolean copy) {
         if (xValues == null || yValues == null) {
-            logger.error("Invalid array lengths for ArrayTabulatedFunction: x length = {}, y length = {}", xValues.length, yValues.length);
+            logger.error("Null arrays passed to ArrayTabulatedFunction: x is null = {}, y is null = {}", xValues == null, yValues == null);
             throw new IllegalArgumentException("Arrays can not be null");
         }
         if (xValues.length < 2) {
@@ -124,11 +130,33 @@ public class ArrayTabulatedFunction extends AbstractTabulatedFunction implements
         checkLengthIsTheSame(xValues,yValues);
         checkSorted(xValues);
 
-        this.xValues = Arrays.copyOf(xValues, xValues.length);
-        this.yValues = Arrays.copyOf(yValues, yValues.length);
+        this.xValues = copy ? Arrays.copyOf(xValues, xValues.length) : xValues;
+        this.yValues = copy ? Arrays.copyOf(yValues, yValues.length) : yValues;
         this.count = xValues.length;
     }
 
+    /**
+     * Создаёт функцию поверх переданных массивов без копирования — функция становится их владельцем.
+     * Проверки те же, что и в конструкторе. Доступно только внутри пакета: для кода, который
+     * только что сам заполнил массивы (построители, табуляция решений) и больше их не использует,
+     * — изменение массивов после вызова меняет функцию. Публичные конструкторы всегда копируют.
+     */
+    static ArrayTabulatedFunction wrap(double[] xValues, double[] yValues) {
+        return new ArrayTabulatedFunction(xValues, yValues, false);
+    }
+
+    /*
+     * Создаёт функцию фабрикой из массивов, которые вызывающий код больше не использует.
+     * Для ArrayTabulatedFunctionFactory массивы передаются без копирования, остальные
+     * фабрики получают их через createOwned.
+     */
+    static TabulatedFunction createOwned(TabulatedFunctionFactory factory, double[] xValues, double[] yValues) {
+        if (factory.getClass() == ArrayTabulatedFunctionFactory.class) {
+            return wrap(xValues, yValues);
+        }
+        return factory.createOwned(xValues, yValues);
+    }
+
     /**
      * Конструктор с дискретизацией функции
      * source функция для табуляции
@@ -288,4 +316,11 @@ public class ArrayTabulatedFunction extends AbstractTabulatedFunction implements
         return interpolate(x, xValues[floorIndex], xValues[floorIndex + 1],
                 yValues[floorIndex], yValues[floorIndex + 1]);
     }
-}
\ No newline at end of file
+
+    // Сериализуется компактной формой: только массивы x и y
+    @Serial
+    private Object writeReplace() {
+        // Длина массивов всегда равна count, копировать их не нужно
+        return new TabulatedFunctionSerialProxy(TabulatedFunctionSerialProxy.ARRAY, xValues, yValues);
+    }
+}
@@ -1,7 +1,11 @@
 package functions;
 
+import functions.factory.TabulatedFunctionFactory;
+
 import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 /**
  * Решаем уравнение вида:
  *      y''(x) + p(x) * y'(x) + q(x) * y(x) = f(x),   x ∈ [a, b]
@@ -35,6 +39,32 @@ public class BSpline implements MathFunction {
                    Function<Double, Double> q,
                    Function<Double, Double> f,
                    double ya, double yb) {
+        this(a, b, nIntervals, p, q, f, ya, yb, false);
+    }
+
+    /**
+     * parallel = true — строки коллокации собираются параллельно в общем ForkJoinPool
+     * (каждая строка пишет только в свою часть ленты). Имеет смысл при дорогих p, q, f;
+     * в этом случае функции должны допускать вызов из нескольких потоков.
+     */
+    public BSpline(double a, double b, int nIntervals,
+                   Function<Double, Double> p,
+                   Function<Double, Double> q,
+                   Function<Double, Double> f,
+                   double ya, double yb, boolean parallel) {
+        this(a, b, nIntervals, unboxed(p), unboxed(q), unboxed(f), ya, yb, false, parallel);
+    }
+
+    /**
+     * Основной конструктор: p, q и f вычисляются через примитивный DoubleUnaryOperator.
+     * dense = true — прежний путь: плотная матрица N×N и метод Гаусса, O(N^3) времени и O(N^2) памяти.
+     * Оставлен для сравнения точности и скорости с ленточным решателем.
+     */
+    private BSpline(double a, double b, int nIntervals,
+                    DoubleUnaryOperator p,
+                    DoubleUnaryOperator q,
+                    DoubleUnaryOperator f,
+                    double ya, double yb, boolean dense, boolean parallel) {
         if (nIntervals < 4) {
             throw new IllegalArgumentException("Интервалов должно быть минимум 4.");
         }
@@ -67,6 +97,101 @@ public class BSpline implements MathFunction {
             colloc[i] = a + (i + 0.5) * h;
         }
 
+        this.coefficients = dense
+                ? solveDense(colloc, p, q, f, a, b, ya, yb)
+                : solveBanded(colloc, p, q, f, a, b, ya, yb, parallel);
+    }
+
+    /**
+     * Построитель с коэффициентами в виде MathFunction: p, q и f вызываются через примитивный
+     * apply(double), без упаковки в Double, так что сборка системы не создаёт мусора.
+     * По умолчанию p = q = f = 0 и y(a) = y(b) = 0.
+     *
+     *     BSpline y = BSpline.builder(0, 1, 1000).q(x -> 1).f(Math::sin).boundary(0, 1).build();
+     */
+    public static Builder builder(double a, double b, int nIntervals) {
+        return new Builder(a, b, nIntervals);
+    }
+
+    public static final class Builder {
+        private final double a;
+        private final double b;
+        private final int nIntervals;
+        private MathFunction p = new ZeroFunction();
+        private MathFunction q = new ZeroFunction();
+        private MathFunction f = new ZeroFunction();
+        private double ya;
+        private double yb;
+        private boolean parallel;
+
+        private Builder(double a, double b, int nIntervals) {
+            this.a = a;
+            this.b = b;
+            this.nIntervals = nIntervals;
+        }
+
+        public Builder p(MathFunction p) {
+            this.p = requireFunction(p);
+            return this;
+        }
+
+        public Builder q(MathFunction q) {
+            this.q = requireFunction(q);
+            return this;
+        }
+
+        public Builder f(MathFunction f) {
+            this.f = requireFunction(f);
+            return this;
+        }
+
+        public Builder boundary(double ya, double yb) {
+            this.ya = ya;
+            this.yb = yb;
+            return this;
+        }
+
+        // Параллельная сборка строк коллокации; p, q и f должны допускать вызов из нескольких потоков
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        public BSpline build() {
+            return new BSpline(a, b, nIntervals, p::apply, q::apply, f::apply, ya, yb, false, parallel);
+        }
+
+        private static MathFunction requireFunction(MathFunction function) {
+            if (function == null) {
+                throw new IllegalArgumentException("Coefficient functions must not be null");
+            }
+            return function;
+        }
+    }
+
+    // Решение с плотным решателем — для сравнения в тестах и BSplineSolverBenchmark
+    static BSpline withDenseSolver(double a, double b, int nIntervals,
+                                   Function<Double, Double> p,
+                                   Function<Double, Double> q,
+                                   Function<Double, Double> f,
+                                   double ya, double yb) {
+        return new BSpline(a, b, nIntervals, unboxed(p), unboxed(q), unboxed(f), ya, yb, true, false);
+    }
+
+    private static DoubleUnaryOperator unboxed(Function<Double, Double> function) {
+        if (function == null) {
+            throw new IllegalArgumentException("Coefficient functions must not be null");
+        }
+        return function::apply;
+    }
+
+    private double[] solveDense(double[] colloc,
+                                DoubleUnaryOperator p,
+                                DoubleUnaryOperator q,
+                                DoubleUnaryOperator f,
+                                double a, double b, double ya, double yb) {
+        int N = knots.length - DEGREE - 1;
+        int nColloc = colloc.length;
         // Система уравнений c*A = rhs (где с - искомые коэффициенты)
         double[][] A = new double[N][N];
         double[] rhs = new double[N];
@@ -74,9 +199,9 @@ public class BSpline implements MathFunction {
         // Коллокации
         for (int i = 0; i < nColloc; i++) {
             double x = colloc[i];
-            double px = p.apply(x);
-            double qx = q.apply(x);
-            rhs[i] = f.apply(x);
+            double px = p.applyAsDouble(x);
+            double qx = q.applyAsDouble(x);
+            rhs[i] = f.applyAsDouble(x);
             for (int j = 0; j < N; j++) {
                 double b0 = derivBasis(j, DEGREE, x, knots,0);
                 double b1 = derivBasis(j, DEGREE, x, knots, 1);
@@ -96,20 +221,202 @@ public class BSpline implements MathFunction {
         }
         rhs[N - 1] = yb;
         //решаем систему методом Гаусса
-        this.coefficients = solveLinearSystem(A, rhs);
+        return solveLinearSystem(A, rhs);
+    }
+
+    /**
+     * Ленточная сборка: в точке коллокации отличны от нуля только базисные функции span - DEGREE..span.
+     * Строки упорядочены по x: условие в a, коллокации, условие в b, — тогда у строки r
+     * ненулевые элементы лежат в столбцах r - DEGREE..r + DEGREE, и решение занимает O(N) времени и памяти.
+     */
+    private double[] solveBanded(double[] colloc,
+                                 DoubleUnaryOperator p,
+                                 DoubleUnaryOperator q,
+                                 DoubleUnaryOperator f,
+                                 double a, double b, double ya, double yb, boolean parallel) {
+        int N = knots.length - DEGREE - 1;
+        BandedLinearSystem system = new BandedLinearSystem(N, DEGREE, DEGREE);
+
+        setBoundaryRow(system, 0, a, ya);
+        int chunks = parallel ? Math.min(colloc.length, 4 * Runtime.getRuntime().availableProcessors()) : 1;
+        if (chunks == 1) {
+            assembleRows(system, colloc, 0, colloc.length, p, q, f);
+        } else {
+            // Участки строк не пересекаются, а строки ленты хранятся в разных частях массива
+            IntStream.range(0, chunks).parallel().forEach(c -> assembleRows(system, colloc,
+                    (int) ((long) colloc.length * c / chunks), (int) ((long) colloc.length * (c + 1) / chunks), p, q, f));
+        }
+        setBoundaryRow(system, N - 1, b, yb);
+        return system.solve();
+    }
+
+    // Строки коллокации с номерами from..to-1 (в системе — строки from+1..to)
+    private void assembleRows(BandedLinearSystem system, double[] colloc, int from, int to,
+                              DoubleUnaryOperator p, DoubleUnaryOperator q, DoubleUnaryOperator f) {
+        double[][] table = new double[DEGREE + 1][DEGREE + 1];
+        double[] b0 = new double[DEGREE + 1];
+        double[] b1 = new double[DEGREE + 1];
+        double[] b2 = new double[DEGREE + 1];
+        for (int i = from; i < to; i++) {
+            double x = colloc[i];
+            double px = p.applyAsDouble(x);
+            double qx = q.applyAsDouble(x);
+            int span = findSpan(x);
+            basisDerivatives(span, x, knots, table, b0, b1, b2);
+            for (int m = 0; m <= DEGREE; m++) {
+                system.set(i + 1, span - DEGREE + m, b2[m] + px * b1[m] + qx * b0[m]);
+            }
+            system.setRightHandSide(i + 1, f.applyAsDouble(x));
+        }
+    }
+
+    private void setBoundaryRow(BandedLinearSystem system, int row, double x, double value) {
+        int span = findSpan(x);
+        for (int j = span - DEGREE; j <= span; j++) {
+            system.set(row, j, evalBasis(j, DEGREE, x, knots));
+        }
+        system.setRightHandSide(row, value);
     }
 
 
     //Вычисляет приближённое значение решения y(x) в заданной точке x.
     // y(x) ≈ Σ c_j * B_j(x)
-    // c_j = coefficients[i], а B_j(x) = evalBasis(i, DEGREE, x, knots)
+    // В точке x отличны от нуля только DEGREE + 1 базисных функций с номерами span - DEGREE..span,
+    // поэтому ищется отрезок узлов (двоичный поиск), а сумма считается алгоритмом де Бура:
+    // O(log N + DEGREE^2) вместо O(N * 2^DEGREE) рекурсивных вызовов evalBasis.
     @Override
     public double apply(double x) {
-        double sum = 0.0; // sum = y(x)
-        for (int i = 0; i < coefficients.length; i++) {
-            sum += coefficients[i] * evalBasis(i, DEGREE, x, knots);
+        int span = findSpan(x);
+        if (span < 0) {
+            return 0.0;
+        }
+        return deBoor(span, x);
+    }
+
+    /**
+     * Пакетное вычисление: result[i] = apply(xValues[i]).
+     * Отрезок узлов предыдущей точки проверяется первым, поэтому для упорядоченных x
+     * поиск отрезка почти всегда обходится без двоичного поиска.
+     */
+    public void apply(double[] xValues, double[] result) {
+        if (xValues == null || result == null) {
+            throw new IllegalArgumentException("Arrays must not be null");
+        }
+        if (result.length < xValues.length) {
+            throw new IllegalArgumentException("Result array is too short: " + result.length + " < " + xValues.length);
+        }
+        int span = -1;
+        for (int i = 0; i < xValues.length; i++) {
+            double x = xValues[i];
+            span = locateSpan(x, span);
+            result[i] = span < 0 ? 0.0 : deBoor(span, x);
+        }
+    }
+
+    /**
+     * Табулирует решение на равномерной сетке из count точек отрезка [xFrom, xTo]
+     * (узлы — как у конструктора ArrayTabulatedFunction(MathFunction, xFrom, xTo, count)).
+     * Точки идут по возрастанию, поэтому отрезки узлов обходятся последовательно без двоичного
+     * поиска, и вся таблица строится за O(count + N). Массивы передаются фабрике без копирования.
+     */
+    public TabulatedFunction toTabulated(double xFrom, double xTo, int count, TabulatedFunctionFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        if (count < 2) {
+            throw new IllegalArgumentException("The length must be more than 2");
+        }
+        // Меняем местами, если xFrom > xTo
+        if (xFrom > xTo) {
+            double temp = xFrom;
+            xFrom = xTo;
+            xTo = temp;
+        }
+        if (!(xFrom < xTo)) {
+            throw new IllegalArgumentException("Bounds must differ, got: [" + xFrom + ", " + xTo + "]");
         }
-        return sum;
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        double step = (xTo - xFrom) / (count - 1);
+        for (int i = 0; i < count; i++) {
+            xValues[i] = xFrom + i * step;
+        }
+        apply(xValues, yValues);
+        return ArrayTabulatedFunction.createOwned(factory, xValues, yValues);
+    }
+
+    /**
+     * Номер отрезка узлов [knots[span], knots[span + 1]), содержащего x, в пределах DEGREE..N-1
+     * (N — число базисных функций). Правый конец b относится к последнему отрезку.
+     * Для x вне [a, b] возвращает -1.
+     */
+    int findSpan(double x) {
+        int n = knots.length - DEGREE - 1;
+        if (!(x >= knots[DEGREE] && x <= knots[n])) {
+            return -1;
+        }
+        // Наибольший span из [DEGREE, n - 1] с knots[span] <= x
+        int low = DEGREE;
+        int high = n - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (knots[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // Как findSpan, но сначала проверяет отрезок hint и следующий за ним
+    private int locateSpan(double x, int hint) {
+        int n = knots.length - DEGREE - 1;
+        if (hint >= DEGREE) {
+            if (knots[hint] <= x && (x < knots[hint + 1] || (hint == n - 1 && x == knots[n]))) {
+                return hint;
+            }
+            if (hint + 1 < n && knots[hint + 1] <= x && (x < knots[hint + 2] || (hint + 1 == n - 1 && x == knots[n]))) {
+                return hint + 1;
+            }
+        }
+        return findSpan(x);
+    }
+
+    /**
+     * Алгоритм де Бура для кубического сплайна на отрезке span: промежуточные значения
+     * треугольной схемы держатся в локальных переменных, так что вычисление не выделяет памяти.
+     * Знаменатели t[span + 1 + j - r] - t[span - 3 + j] положительны, поскольку knots[span] < knots[span + 1].
+     */
+    private double deBoor(int span, double x) {
+        double[] t = knots;
+        int s = span - DEGREE;
+        double d0 = coefficients[s];
+        double d1 = coefficients[s + 1];
+        double d2 = coefficients[s + 2];
+        double d3 = coefficients[s + 3];
+        // r = 1
+        d3 = lerp(d2, d3, (x - t[s + 3]) / (t[s + 6] - t[s + 3]));
+        d2 = lerp(d1, d2, (x - t[s + 2]) / (t[s + 5] - t[s + 2]));
+        d1 = lerp(d0, d1, (x - t[s + 1]) / (t[s + 4] - t[s + 1]));
+        // r = 2
+        d3 = lerp(d2, d3, (x - t[s + 3]) / (t[s + 5] - t[s + 3]));
+        d2 = lerp(d1, d2, (x - t[s + 2]) / (t[s + 4] - t[s + 2]));
+        // r = 3
+        return lerp(d2, d3, (x - t[s + 3]) / (t[s + 4] - t[s + 3]));
+    }
+
+    private static double lerp(double from, double to, double alpha) {
+        return (1.0 - alpha) * from + alpha * to;
+    }
+
+    // Узловой вектор и коэффициенты — для тестов, без копирования
+    double[] getKnots() {
+        return knots;
+    }
+
+    double[] getCoefficients() {
+        return coefficients;
     }
 
     /**
@@ -126,6 +433,12 @@ public class BSpline implements MathFunction {
             if (knots[i] <= x && x < knots[i + 1]) {
                 return 1.0;
             }
+            // Правый конец отрезка относится к последнему непустому отрезку узлов,
+            // иначе в точке b все базисные функции равны нулю
+            double last = knots[knots.length - 1];
+            if (x == last && knots[i] < knots[i + 1] && knots[i + 1] == last) {
+                return 1.0;
+            }
             return 0.0;
         }
         // Рекурсивный случай: формула Кокса–де Бура
@@ -146,23 +459,83 @@ public class BSpline implements MathFunction {
      * Аналитическое вычисление производной базисной B-сплайн функции.
      * Использует рекуррентную формулу:
      *   d/dx N_{i,k}(x) = k/(t_{i+k} - t_i) * N_{i,k-1}(x) - k/(t_{i+k+1} - t_{i+1}) * N_{i+1,k-1}(x)
+     * (вторая производная — та же формула, применённая к первым производным N_{i,k-1}).
      * i - индекс базисной функции
      * k - степень сплайна (всегда 3 в этом классе)
      * x - точка вычисления
      * knots - узловой вектор
-     * order - порядок производной (1 или 2)
-     * Численное вычисление производной базисной функции методом центральных разностей. Для повышения точности
+     * order - порядок производной (0, 1 или 2)
      */
     static double derivBasis(int i, int k, double x, double[] knots, int order) {
-        if (order == 1) {
-            double h = 1e-6;
-            return (evalBasis(i, k, x + h, knots) - evalBasis(i, k, x - h, knots)) / (2 * h);
+        if (order == 0) {
+            return evalBasis(i, k, x, knots);
+        }
+        if (k == 0) {
+            // Кусочно-постоянная функция: производная равна нулю всюду, кроме узлов
+            return 0.0;
+        }
+        double result = 0.0;
+        double denomL = knots[i + k] - knots[i];
+        if (Math.abs(denomL) > 1e-15) {
+            result += k / denomL * derivBasis(i, k - 1, x, knots, order - 1);
+        }
+        double denomR = knots[i + k + 1] - knots[i + 1];
+        if (Math.abs(denomR) > 1e-15) {
+            result -= k / denomR * derivBasis(i + 1, k - 1, x, knots, order - 1);
+        }
+        return result;
+    }
+
+    /**
+     * Значения и первые две производные всех DEGREE + 1 ненулевых в точке x базисных функций
+     * span - DEGREE..span за один проход: values[m], first[m], second[m] относятся к функции span - DEGREE + m.
+     * table — рабочий массив (DEGREE + 1) × (DEGREE + 1), в нём строится треугольник
+     * table[d][m] = N_{span-d+m, d}(x); производные получаются из него той же рекуррентной формулой,
+     * что и в derivBasis, без повторных рекурсивных вычислений базиса. Память не выделяется.
+     */
+    static void basisDerivatives(int span, double x, double[] knots, double[][] table,
+                                 double[] values, double[] first, double[] second) {
+        table[0][0] = 1.0;
+        for (int d = 1; d <= DEGREE; d++) {
+            for (int m = 0; m <= d; m++) {
+                int j = span - d + m;
+                double value = 0.0;
+                // Знаменатели положительны: t_j <= t_span < t_{span+1} <= t_{j+d} (и аналогично справа)
+                if (m >= 1) {
+                    value += (x - knots[j]) / (knots[j + d] - knots[j]) * table[d - 1][m - 1];
+                }
+                if (m <= d - 1) {
+                    value += (knots[j + d + 1] - x) / (knots[j + d + 1] - knots[j + 1]) * table[d - 1][m];
+                }
+                table[d][m] = value;
+            }
+        }
+        for (int m = 0; m <= DEGREE; m++) {
+            int j = span - DEGREE + m;
+            values[m] = table[DEGREE][m];
+            first[m] = tableDerivative(table, span, knots, DEGREE, j, 1);
+            second[m] = tableDerivative(table, span, knots, DEGREE, j, 2);
+        }
+    }
+
+    // Производная порядка order функции N_{j,d} по треугольнику значений; вне span - d..span функция равна нулю
+    private static double tableDerivative(double[][] table, int span, double[] knots, int d, int j, int order) {
+        if (j < span - d || j > span) {
+            return 0.0;
+        }
+        if (order == 0) {
+            return table[d][j - span + d];
+        }
+        double result = 0.0;
+        double left = tableDerivative(table, span, knots, d - 1, j, order - 1);
+        if (left != 0.0) {
+            result += d * left / (knots[j + d] - knots[j]);
         }
-        if (order == 2) {
-            double h = 1e-5;
-            return (evalBasis(i, k, x + h, knots) - 2 * evalBasis(i, k, x, knots) + evalBasis(i, k, x - h, knots)) / (h * h);
+        double right = tableDerivative(table, span, knots, d - 1, j + 1, order - 1);
+        if (right != 0.0) {
+            result -= d * right / (knots[j + d + 1] - knots[j + 1]);
         }
-        return evalBasis(i, k, x, knots);
+        return result;
     }
 
     /**
@@ -0,0 +1,67 @@
+package functions;
+
+import java.util.function.Function;
+
+/**
+ * Сравнение плотного и ленточного решателей системы коллокации BSpline.
+ * Решается y'' + y = 0, y(0) = 0, y(pi/2) = 1 (точное решение sin x);
+ * выводится время построения, максимальная погрешность относительно sin x
+ * и наибольшее расхождение коэффициентов двух решателей.
+ */
+public class BSplineSolverBenchmark {
+
+    private static final int CHECK_POINTS = 1000;
+    // Выше этого размера плотная матрица слишком велика
+    private static final int MAX_DENSE_INTERVALS = 1600;
+
+    private static final Function<Double, Double> P = x -> 0.0;
+    private static final Function<Double, Double> Q = x -> 1.0;
+    private static final Function<Double, Double> F = x -> 0.0;
+
+    private static double maxError(BSpline spline) {
+        double error = 0.0;
+        for (int i = 0; i <= CHECK_POINTS; i++) {
+            double x = Math.PI / 2 * i / CHECK_POINTS;
+            error = Math.max(error, Math.abs(spline.apply(x) - Math.sin(x)));
+        }
+        return error;
+    }
+
+    private static BSpline build(int nIntervals, boolean dense) {
+        return dense
+                ? BSpline.withDenseSolver(0.0, Math.PI / 2, nIntervals, P, Q, F, 0.0, 1.0)
+                : new BSpline(0.0, Math.PI / 2, nIntervals, P, Q, F, 0.0, 1.0);
+    }
+
+    public static void main(String[] args) {
+        // Прогрев
+        for (int i = 0; i < 5; i++) {
+            build(200, true);
+            build(200, false);
+        }
+        System.out.printf("%-10s | %-12s | %-12s | %-10s | %-10s | %-10s%n",
+                "intervals", "dense, ms", "banded, ms", "dense err", "banded err", "coef diff");
+        for (int n = 100; n <= 102_400; n *= 2) {
+            long start = System.nanoTime();
+            BSpline banded = build(n, false);
+            double bandedMillis = (System.nanoTime() - start) / 1e6;
+
+            String denseMillis = "-";
+            String denseError = "-";
+            String difference = "-";
+            if (n <= MAX_DENSE_INTERVALS) {
+                start = System.nanoTime();
+                BSpline dense = build(n, true);
+                denseMillis = String.format("%.2f", (System.nanoTime() - start) / 1e6);
+                denseError = String.format("%.3e", maxError(dense));
+                double diff = 0.0;
+                for (int i = 0; i < dense.getCoefficients().length; i++) {
+                    diff = Math.max(diff, Math.abs(dense.getCoefficients()[i] - banded.getCoefficients()[i]));
+                }
+                difference = String.format("%.3e", diff);
+            }
+            System.out.printf("%-10d | %-12s | %-12.2f | %-10s | %-10.3e | %-10s%n",
+                    n, denseMillis, bandedMillis, denseError, maxError(banded), difference);
+        }
+    }
+}
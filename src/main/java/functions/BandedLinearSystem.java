@@ -0,0 +1,119 @@
+package functions;
+
+/**
+ * Ленточная система линейных уравнений A * x = b: у строки r ненулевыми могут быть только
+ * элементы в столбцах r - lower..r + upper.
+ * Хранятся лишь диагонали ленты (плюс lower диагоналей под заполнение при перестановках строк),
+ * поэтому память — O(n * (2 * lower + upper + 1)), а решение методом Гаусса
+ * с частичным выбором ведущего элемента — O(n * lower * (lower + upper)).
+ */
+final class BandedLinearSystem {
+
+    private final int n;
+    private final int lower;
+    private final int upper;
+    private final int width;
+    // Элемент (r, c) хранится в band[r * width + c - r + lower], c ∈ [r - lower, r + lower + upper]
+    private final double[] band;
+    private final double[] rhs;
+
+    BandedLinearSystem(int n, int lower, int upper) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Size must be positive, got: " + n);
+        }
+        if (lower < 0 || upper < 0) {
+            throw new IllegalArgumentException("Bandwidths must be non-negative");
+        }
+        this.n = n;
+        this.lower = lower;
+        this.upper = upper;
+        this.width = 2 * lower + upper + 1;
+        this.band = new double[Math.multiplyExact(n, width)];
+        this.rhs = new double[n];
+    }
+
+    int size() {
+        return n;
+    }
+
+    void set(int row, int column, double value) {
+        if (row < 0 || row >= n || column < 0 || column >= n) {
+            throw new IndexOutOfBoundsException("Element (" + row + ", " + column + ") is outside of " + n + "x" + n + " matrix");
+        }
+        if (column < row - lower || column > row + upper) {
+            throw new IllegalArgumentException("Element (" + row + ", " + column + ") is outside of the band");
+        }
+        band[index(row, column)] = value;
+    }
+
+    void setRightHandSide(int row, double value) {
+        rhs[row] = value;
+    }
+
+    private int index(int row, int column) {
+        return row * width + column - row + lower;
+    }
+
+    /**
+     * Решает систему; матрица и правая часть при этом разрушаются.
+     * Близкий к нулю ведущий элемент, как и в плотном решателе BSpline, заменяется на 1e-12.
+     */
+    double[] solve() {
+        // Прямой ход. Перед шагом k ненулевые элементы строк k..n-1 лежат в столбцах k..k + lower + upper
+        for (int k = 0; k < n; k++) {
+            int last = Math.min(n - 1, k + lower);
+            int lastColumn = Math.min(n - 1, k + lower + upper);
+
+            int pivotRow = k;
+            for (int i = k + 1; i <= last; i++) {
+                if (Math.abs(band[index(i, k)]) > Math.abs(band[index(pivotRow, k)])) {
+                    pivotRow = i;
+                }
+            }
+            if (pivotRow != k) {
+                for (int c = k; c <= lastColumn; c++) {
+                    int a = index(k, c);
+                    int b = index(pivotRow, c);
+                    double tmp = band[a];
+                    band[a] = band[b];
+                    band[b] = tmp;
+                }
+                double tmp = rhs[k];
+                rhs[k] = rhs[pivotRow];
+                rhs[pivotRow] = tmp;
+            }
+
+            int diagonal = index(k, k);
+            if (Math.abs(band[diagonal]) < 1e-14) {
+                band[diagonal] = 1e-12;
+            }
+            double pivot = band[diagonal];
+
+            for (int i = k + 1; i <= last; i++) {
+                int rowOffset = index(i, k);
+                double factor = band[rowOffset] / pivot;
+                if (factor == 0.0) {
+                    continue;
+                }
+                // В строке i и в строке k столбцы идут подряд, начиная со столбца k
+                for (int c = 0; c <= lastColumn - k; c++) {
+                    band[rowOffset + c] -= factor * band[diagonal + c];
+                }
+                rhs[i] -= factor * rhs[k];
+            }
+        }
+
+        // Обратный ход
+        double[] x = new double[n];
+        for (int r = n - 1; r >= 0; r--) {
+            int diagonal = index(r, r);
+            int lastColumn = Math.min(n - 1, r + lower + upper);
+            double sum = rhs[r];
+            for (int c = r + 1; c <= lastColumn; c++) {
+                sum -= band[diagonal + c - r] * x[c];
+            }
+            x[r] = sum / band[diagonal];
+        }
+        return x;
+    }
+}
@@ -0,0 +1,192 @@
+package functions;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Решение задачи Коши dy/dx = f(x, y), y(x0) = y0 методом Дорманда–Принса 5(4)
+ * с автоматическим выбором шага.
+ * На каждом шаге по тем же семи вычислениям f получаются решения 5-го и 4-го порядка;
+ * их разность служит оценкой погрешности. Шаг принимается, если оценка не превышает
+ * absoluteTolerance + relativeTolerance * |y|, и затем увеличивается или уменьшается по ней.
+ * Последнее вычисление f принятого шага совпадает с первым вычислением следующего (FSAL),
+ * поэтому принятый шаг стоит шесть вычислений f.
+ * В отличие от RungeKuttaFunction мелкие шаги делаются только там, где решение быстро меняется.
+ */
+class DormandPrinceFunction implements MathFunction {
+
+    // Коэффициенты таблицы Бутчера
+    private static final double C2 = 1.0 / 5, C3 = 3.0 / 10, C4 = 4.0 / 5, C5 = 8.0 / 9;
+    private static final double A21 = 1.0 / 5;
+    private static final double A31 = 3.0 / 40, A32 = 9.0 / 40;
+    private static final double A41 = 44.0 / 45, A42 = -56.0 / 15, A43 = 32.0 / 9;
+    private static final double A51 = 19372.0 / 6561, A52 = -25360.0 / 2187, A53 = 64448.0 / 6561, A54 = -212.0 / 729;
+    private static final double A61 = 9017.0 / 3168, A62 = -355.0 / 33, A63 = 46732.0 / 5247, A64 = 49.0 / 176,
+            A65 = -5103.0 / 18656;
+    // Веса решения 5-го порядка (они же седьмая строка таблицы)
+    private static final double B1 = 35.0 / 384, B3 = 500.0 / 1113, B4 = 125.0 / 192, B5 = -2187.0 / 6784,
+            B6 = 11.0 / 84;
+    // Разности весов 5-го и 4-го порядков
+    private static final double E1 = 71.0 / 57600, E3 = -71.0 / 16695, E4 = 71.0 / 1920, E5 = -17253.0 / 339200,
+            E6 = 22.0 / 525, E7 = -1.0 / 40;
+
+    // Ограничения на изменение шага за один раз
+    private static final double SAFETY = 0.9;
+    private static final double MIN_FACTOR = 0.2;
+    private static final double MAX_FACTOR = 5.0;
+
+    private static final long DEFAULT_MAX_STEPS = 1_000_000;
+
+    private final double x0;
+    private final double y0;
+    private final RungeKuttaFunction.MathFunction2D f;
+    private final double absoluteTolerance;
+    private final double relativeTolerance;
+    private final long maxSteps;
+
+    // Статистика по всем вызовам apply
+    private final AtomicLong acceptedSteps = new AtomicLong();
+    private final AtomicLong rejectedSteps = new AtomicLong();
+    private final AtomicLong evaluations = new AtomicLong();
+
+    public DormandPrinceFunction(double x0, double y0, RungeKuttaFunction.MathFunction2D f, double tolerance) {
+        this(x0, y0, f, tolerance, tolerance);
+    }
+
+    public DormandPrinceFunction(double x0, double y0, RungeKuttaFunction.MathFunction2D f,
+                                 double absoluteTolerance, double relativeTolerance) {
+        this(x0, y0, f, absoluteTolerance, relativeTolerance, DEFAULT_MAX_STEPS);
+    }
+
+    public DormandPrinceFunction(double x0, double y0, RungeKuttaFunction.MathFunction2D f,
+                                 double absoluteTolerance, double relativeTolerance, long maxSteps) {
+        if (f == null) {
+            throw new IllegalArgumentException("Function cannot be null");
+        }
+        if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0) || absoluteTolerance + relativeTolerance == 0) {
+            throw new IllegalArgumentException("Tolerances must be non-negative and not both zero, got: "
+                    + absoluteTolerance + ", " + relativeTolerance);
+        }
+        if (maxSteps < 1) {
+            throw new IllegalArgumentException("Step limit must be positive, got: " + maxSteps);
+        }
+        this.x0 = x0;
+        this.y0 = y0;
+        this.f = f;
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Интегрирует от x0 до xTarget (в любую сторону); последний шаг укорачивается до попадания в цель.
+     * Если шаг становится пренебрежимо малым или превышено число шагов, бросается IllegalStateException.
+     */
+    @Override
+    public double apply(double xTarget) {
+        if (xTarget == x0) return y0;
+
+        double direction = xTarget > x0 ? 1 : -1;
+        double x = x0;
+        double y = y0;
+        double k1 = f.apply(x, y);
+        long calls = 1;
+        long accepted = 0;
+        long rejected = 0;
+        double h = direction * initialStep(xTarget, k1);
+
+        try {
+            while (direction * (xTarget - x) > 0) {
+                if (accepted + rejected >= maxSteps) {
+                    throw new IllegalStateException("Step limit " + maxSteps + " exceeded at x = " + x);
+                }
+                boolean last = direction * (x + h - xTarget) >= 0;
+                if (last) {
+                    h = xTarget - x;
+                }
+                if (Math.abs(h) <= 1e-14 * Math.max(1.0, Math.abs(x))) {
+                    throw new IllegalStateException("Step size underflow at x = " + x);
+                }
+
+                double k2 = f.apply(x + C2 * h, y + h * A21 * k1);
+                double k3 = f.apply(x + C3 * h, y + h * (A31 * k1 + A32 * k2));
+                double k4 = f.apply(x + C4 * h, y + h * (A41 * k1 + A42 * k2 + A43 * k3));
+                double k5 = f.apply(x + C5 * h, y + h * (A51 * k1 + A52 * k2 + A53 * k3 + A54 * k4));
+                double k6 = f.apply(x + h, y + h * (A61 * k1 + A62 * k2 + A63 * k3 + A64 * k4 + A65 * k5));
+                double yNew = y + h * (B1 * k1 + B3 * k3 + B4 * k4 + B5 * k5 + B6 * k6);
+                double k7 = f.apply(x + h, yNew);
+                calls += 6;
+
+                double error = Math.abs(h * (E1 * k1 + E3 * k3 + E4 * k4 + E5 * k5 + E6 * k6 + E7 * k7));
+                double scale = absoluteTolerance + relativeTolerance * Math.max(Math.abs(y), Math.abs(yNew));
+                // Нулевая ошибка при нулевом масштабе (y и yNew равны 0) — шаг точный
+                double ratio = error == 0.0 ? 0.0 : error / scale;
+
+                double factor;
+                if (ratio <= 1.0) {
+                    accepted++;
+                    x = last ? xTarget : x + h;
+                    y = yNew;
+                    k1 = k7;
+                    factor = ratio == 0.0 ? MAX_FACTOR : Math.min(MAX_FACTOR, SAFETY * Math.pow(ratio, -0.2));
+                } else {
+                    rejected++;
+                    // NaN в оценке тоже приводит сюда и уменьшает шаг
+                    factor = Math.max(MIN_FACTOR, SAFETY * Math.pow(ratio, -0.2));
+                    if (Double.isNaN(factor)) {
+                        factor = MIN_FACTOR;
+                    }
+                }
+                h *= factor;
+            }
+        } finally {
+            acceptedSteps.addAndGet(accepted);
+            rejectedSteps.addAndGet(rejected);
+            evaluations.addAndGet(calls);
+        }
+        return y;
+    }
+
+    // Начальный шаг по масштабу решения и производной: за шаг y меняется примерно на 1% от масштаба
+    private double initialStep(double xTarget, double derivative) {
+        double span = Math.abs(xTarget - x0);
+        double scale = absoluteTolerance + relativeTolerance * Math.abs(y0);
+        if (!(scale > 0)) {
+            // Только относительный допуск и y0 = 0: масштаба нет, начинаем с малого шага
+            return Math.min(1e-6, span);
+        }
+        double d0 = Math.abs(y0) / scale;
+        double d1 = Math.abs(derivative) / scale;
+        double h = (d0 < 1e-5 || d1 < 1e-5) ? 1e-6 : 0.01 * d0 / d1;
+        if (!(h > 0) || Double.isInfinite(h)) {
+            h = 1e-6;
+        }
+        return Math.min(h, span);
+    }
+
+    public long getAcceptedSteps() {
+        return acceptedSteps.get();
+    }
+
+    public long getRejectedSteps() {
+        return rejectedSteps.get();
+    }
+
+    // Число вычислений правой части f
+    public long getEvaluations() {
+        return evaluations.get();
+    }
+
+    public void resetStatistics() {
+        acceptedSteps.set(0);
+        rejectedSteps.set(0);
+        evaluations.set(0);
+    }
+
+    public double getAbsoluteTolerance() {
+        return absoluteTolerance;
+    }
+
+    public double getRelativeTolerance() {
+        return relativeTolerance;
+    }
+}
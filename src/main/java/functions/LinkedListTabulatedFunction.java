@@ -9,7 +9,7 @@ import java.io.Serializable;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class LinkedListTabulatedFunction extends AbstractTabulatedFunction implements TabulatedFunction, Removable, Serializable{
+public class LinkedListTabulatedFunction extends AbstractTabulatedFunction implements TabulatedFunction, Insertable, Removable, Serializable{
     @Serial
     private static final long serialVersionUID = -8254753437457798923L;
 
@@ -357,4 +357,18 @@ public class LinkedListTabulatedFunction extends AbstractTabulatedFunction imple
             }
         };
     }
-}
\ No newline at end of file
+
+    // Сериализуется компактной формой: узлы списка в поток не пишутся, только массивы x и y
+    @Serial
+    private Object writeReplace() {
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        Node current = head;
+        for (int i = 0; i < count; i++) {
+            xValues[i] = current.x;
+            yValues[i] = current.y;
+            current = current.next;
+        }
+        return new TabulatedFunctionSerialProxy(TabulatedFunctionSerialProxy.LINKED_LIST, xValues, yValues);
+    }
+}
@@ -0,0 +1,199 @@
+package functions;
+
+import functions.factory.TabulatedFunctionFactory;
+
+import java.util.stream.IntStream;
+
+/**
+ * Решение одного уравнения dy/dx = f(x, y) сразу для многих начальных значений y(x0) = y0[j]
+ * методом Рунге-Кутты 4-го порядка (например, для перебора параметра).
+ * Все траектории идут одними и теми же шагами по x; состояние хранится «структурой массивов»:
+ * y, промежуточные значения и k1..k4 — отдельные массивы double[] по траекториям, и на каждом шаге
+ * каждая стадия метода проходит по ним подряд. Траектории независимы, поэтому в параллельном
+ * режиме они делятся на участки, которые обрабатываются в общем ForkJoinPool без синхронизации.
+ * Результаты совпадают с RungeKuttaSystem для каждой траектории в отдельности.
+ */
+class RungeKuttaBatch {
+
+    // Число траекторий в одной параллельной задаче: рабочие массивы участка помещаются в кэш
+    private static final int PARALLEL_CHUNK = 1 << 10;
+
+    private final double x0;
+    private final double[] y0;
+    private final RungeKuttaFunction.MathFunction2D f;
+    private final double stepSize;
+    private boolean parallel;
+
+    public RungeKuttaBatch(double x0, double[] y0, RungeKuttaFunction.MathFunction2D f, double stepSize) {
+        if (y0 == null || y0.length == 0) {
+            throw new IllegalArgumentException("Initial values must not be empty");
+        }
+        if (f == null) {
+            throw new IllegalArgumentException("Function cannot be null");
+        }
+        if (!(stepSize > 0)) {
+            throw new IllegalArgumentException("Step size must be positive, got: " + stepSize);
+        }
+        this.x0 = x0;
+        this.y0 = y0.clone();
+        this.f = f;
+        this.stepSize = stepSize;
+    }
+
+    public int getSize() {
+        return y0.length;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    // Делить траектории на участки и обрабатывать их в общем ForkJoinPool
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Значения всех траекторий в точке xTarget (интегрирование в любую сторону от x0).
+     */
+    public double[] integrate(double xTarget) {
+        double[] result = y0.clone();
+        forEachChunk((from, to) -> {
+            Workspace workspace = new Workspace(result, from, to);
+            advance(workspace, x0, xTarget);
+            workspace.store(result);
+        });
+        return result;
+    }
+
+    /**
+     * Табулирует каждую траекторию на равномерной сетке из count точек между x0 и xTo;
+     * j-я функция результата соответствует начальному значению y0[j].
+     * Между соседними узлами делается целое число равных шагов не длиннее stepSize.
+     */
+    public TabulatedFunction[] toTabulated(double xTo, int count, TabulatedFunctionFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        if (count < 2) {
+            throw new IllegalArgumentException("The length must be more than 2");
+        }
+        if (xTo == x0 || Double.isNaN(xTo)) {
+            throw new IllegalArgumentException("End point must differ from x0, got: " + xTo);
+        }
+        boolean forward = xTo > x0;
+        double step = (xTo - x0) / (count - 1);
+        // Узлы должны идти по возрастанию
+        double[] xValues = new double[count];
+        for (int i = 0; i < count; i++) {
+            xValues[forward ? i : count - 1 - i] = x0 + i * step;
+        }
+        double[][] trajectories = new double[y0.length][count];
+
+        forEachChunk((from, to) -> {
+            Workspace workspace = new Workspace(y0, from, to);
+            double x = x0;
+            for (int i = 0; i < count; i++) {
+                double node = x0 + i * step;
+                advance(workspace, x, node);
+                x = node;
+                int index = forward ? i : count - 1 - i;
+                for (int j = 0; j < workspace.y.length; j++) {
+                    trajectories[from + j][index] = workspace.y[j];
+                }
+            }
+        });
+
+        TabulatedFunction[] result = new TabulatedFunction[y0.length];
+        for (int j = 0; j < y0.length; j++) {
+            result[j] = ArrayTabulatedFunction.createOwned(factory, j == y0.length - 1 ? xValues : xValues.clone(), trajectories[j]);
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int from, int to);
+    }
+
+    private void forEachChunk(ChunkTask task) {
+        int size = y0.length;
+        if (!parallel || size <= PARALLEL_CHUNK) {
+            task.run(0, size);
+            return;
+        }
+        int chunks = (size + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        IntStream.range(0, chunks).parallel()
+                .forEach(c -> task.run(c * PARALLEL_CHUNK, Math.min((c + 1) * PARALLEL_CHUNK, size)));
+    }
+
+    // Интегрирует траектории участка от from до to равными шагами не длиннее stepSize
+    private void advance(Workspace workspace, double from, double to) {
+        double distance = to - from;
+        if (distance == 0) {
+            return;
+        }
+        long steps = (long) Math.ceil(Math.abs(distance) / stepSize);
+        double h = distance / steps;
+        for (long s = 0; s < steps; s++) {
+            step(workspace, from + s * h, h);
+        }
+    }
+
+    // Один шаг метода Рунге-Кутты 4-го порядка сразу для всех траекторий участка
+    private void step(Workspace w, double x, double h) {
+        int n = w.y.length;
+        double[] y = w.y;
+        double[] stage = w.stage;
+        double[] k1 = w.k1;
+        double[] k2 = w.k2;
+        double[] k3 = w.k3;
+        double[] k4 = w.k4;
+
+        for (int j = 0; j < n; j++) {
+            k1[j] = f.apply(x, y[j]);
+            stage[j] = y[j] + h * k1[j] / 2;
+        }
+        double middle = x + h / 2;
+        for (int j = 0; j < n; j++) {
+            k2[j] = f.apply(middle, stage[j]);
+            stage[j] = y[j] + h * k2[j] / 2;
+        }
+        for (int j = 0; j < n; j++) {
+            k3[j] = f.apply(middle, stage[j]);
+            stage[j] = y[j] + h * k3[j];
+        }
+        double end = x + h;
+        for (int j = 0; j < n; j++) {
+            k4[j] = f.apply(end, stage[j]);
+            y[j] = y[j] + h * (k1[j] + 2 * k2[j] + 2 * k3[j] + k4[j]) / 6;
+        }
+    }
+
+    // Рабочие массивы участка траекторий [from, to)
+    private static final class Workspace {
+        final int from;
+        final double[] y;
+        final double[] stage;
+        final double[] k1;
+        final double[] k2;
+        final double[] k3;
+        final double[] k4;
+
+        Workspace(double[] initial, int from, int to) {
+            int length = to - from;
+            this.from = from;
+            y = new double[length];
+            System.arraycopy(initial, from, y, 0, length);
+            stage = new double[length];
+            k1 = new double[length];
+            k2 = new double[length];
+            k3 = new double[length];
+            k4 = new double[length];
+        }
+
+        void store(double[] target) {
+            System.arraycopy(y, 0, target, from, y.length);
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package functions;
 
+import functions.factory.TabulatedFunctionFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
 //Класс для решения дифференциальных уравнений методом Рунге-Кутты
 class RungeKuttaFunction implements MathFunction {
 
@@ -7,6 +13,8 @@ class RungeKuttaFunction implements MathFunction {
     private final double y0;        // начальное значение y
     private final MathFunction2D f; // функция dy/dx = f(x, y)
     private final double stepSize;  // шаг интегрирования
+    private final int checkpointInterval;       // шагов между контрольными точками
+    private final CheckpointCache checkpoints;  // null — режим без контрольных точек
 
     // Конструктор
     public RungeKuttaFunction(double x0, double y0, MathFunction2D f, double stepSize) {
@@ -14,32 +22,140 @@ class RungeKuttaFunction implements MathFunction {
         this.y0 = y0;
         this.f = f;
         this.stepSize = stepSize;
+        this.checkpointInterval = 0;
+        this.checkpoints = null;
+    }
+
+    /**
+     * Режим с контрольными точками: каждые checkpointInterval полных шагов состояние (x, y)
+     * запоминается (не более maxCheckpoints точек, вытесняются давно не использованные),
+     * и apply продолжает интегрирование от ближайшей подходящей точки, а не от x0.
+     * Результат побитово совпадает с интегрированием от x0.
+     */
+    public RungeKuttaFunction(double x0, double y0, MathFunction2D f, double stepSize,
+                              int checkpointInterval, int maxCheckpoints) {
+        if (f == null) {
+            throw new IllegalArgumentException("Function cannot be null");
+        }
+        if (!(stepSize > 0)) {
+            throw new IllegalArgumentException("Step size must be positive, got: " + stepSize);
+        }
+        if (checkpointInterval < 1 || maxCheckpoints < 1) {
+            throw new IllegalArgumentException("Checkpoint interval and capacity must be positive");
+        }
+        this.x0 = x0;
+        this.y0 = y0;
+        this.f = f;
+        this.stepSize = stepSize;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpoints = new CheckpointCache(maxCheckpoints);
     }
 
     @Override
     public double apply(double xTarget) {
         if (xTarget == x0) return y0;
 
-        double x = x0;
-        double y = y0;
         double h = stepSize;
 
         // Определяем направление интегрирования
         if (xTarget < x0) h = -h;
 
+        if (checkpoints == null) {
+            return integrate(x0, y0, xTarget, h);
+        }
+        double[] state = checkpoints.nearest(h > 0 ? 1 : -1, xTarget);
+        advance(state, xTarget, h);
+        return integrate(state[0], state[1], xTarget, h);
+    }
+
+    /**
+     * Табулирует решение на равномерной сетке из count точек отрезка [xFrom, xTo]
+     * (узлы — как у конструктора ArrayTabulatedFunction(MathFunction, xFrom, xTo, count)).
+     * Точки справа от x0 проходятся одним интегрированием вперёд, слева — одним назад,
+     * поэтому вся таблица стоит O(count + |xTo - xFrom| / stepSize) шагов вместо O(count²).
+     * Значения совпадают с apply в тех же точках.
+     */
+    public TabulatedFunction toTabulated(double xFrom, double xTo, int count, TabulatedFunctionFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        if (count < 2) {
+            throw new IllegalArgumentException("The length must be more than 2");
+        }
+        if (!(stepSize > 0)) {
+            throw new IllegalArgumentException("Step size must be positive, got: " + stepSize);
+        }
+        // Меняем местами, если xFrom > xTo
+        if (xFrom > xTo) {
+            double temp = xFrom;
+            xFrom = xTo;
+            xTo = temp;
+        }
+        if (!(xFrom < xTo)) {
+            throw new IllegalArgumentException("Bounds must differ, got: [" + xFrom + ", " + xTo + "]");
+        }
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        double step = (xTo - xFrom) / (count - 1);
+        int first = count; // первая точка с x >= x0
+        for (int i = count - 1; i >= 0; i--) {
+            xValues[i] = xFrom + i * step;
+            if (xValues[i] >= x0) {
+                first = i;
+            }
+        }
+
+        // Вперёд от x0
+        double[] state = {x0, y0, 0};
+        for (int i = first; i < count; i++) {
+            yValues[i] = sweepTo(state, xValues[i], stepSize);
+        }
+        // Назад от x0
+        state = new double[]{x0, y0, 0};
+        for (int i = first - 1; i >= 0; i--) {
+            yValues[i] = sweepTo(state, xValues[i], -stepSize);
+        }
+        return ArrayTabulatedFunction.createOwned(factory, xValues, yValues);
+    }
+
+    private double sweepTo(double[] state, double xTarget, double h) {
+        if (xTarget == x0) return y0;
+        advance(state, xTarget, h);
+        return integrate(state[0], state[1], xTarget, h);
+    }
+
+    /*
+     * Идёт полными шагами h от состояния state = {x, y, номер шага}, пока следующий шаг
+     * не перескакивает xTarget и x не совпал с целью, — ровно те шаги, которые сделал бы
+     * цикл integrate от x0. Каждые checkpointInterval шагов состояние запоминается.
+     */
+    private void advance(double[] state, double xTarget, double h) {
+        double x = state[0];
+        double y = state[1];
+        long steps = (long) state[2];
+        while (Math.abs(x - xTarget) > 1e-10
+                && !((x < xTarget && x + h > xTarget) || (x > xTarget && x + h < xTarget))) {
+            y = step(x, y, h);
+            x = x + h;
+            steps++;
+            if (checkpoints != null && steps % checkpointInterval == 0) {
+                checkpoints.put(h > 0 ? steps : -steps, x, y);
+            }
+        }
+        state[0] = x;
+        state[1] = y;
+        state[2] = steps;
+    }
+
+    // Интегрирование от (x, y) до xTarget; последний шаг укорачивается до попадания в цель
+    private double integrate(double x, double y, double xTarget, double h) {
         while (Math.abs(x - xTarget) > 1e-10) {
             // Если следующий шаг выходит за пределы xTarget — корректируем шаг
             if ((x < xTarget && x + h > xTarget) || (x > xTarget && x + h < xTarget)) {
                 h = xTarget - x;
             }
 
-            // Метод Рунге-Кутты 4-го порядка
-            double k1 = f.apply(x, y);
-            double k2 = f.apply(x + h/2, y + h*k1/2);
-            double k3 = f.apply(x + h/2, y + h*k2/2);
-            double k4 = f.apply(x + h, y + h*k3);
-
-            y = y + h * (k1 + 2*k2 + 2*k3 + k4) / 6;
+            y = step(x, y, h);
             x = x + h;
 
             // Защита от бесконечного цикла
@@ -49,9 +165,78 @@ class RungeKuttaFunction implements MathFunction {
         return y;
     }
 
+    // Метод Рунге-Кутты 4-го порядка
+    private double step(double x, double y, double h) {
+        double k1 = f.apply(x, y);
+        double k2 = f.apply(x + h/2, y + h*k1/2);
+        double k3 = f.apply(x + h/2, y + h*k2/2);
+        double k4 = f.apply(x + h, y + h*k3);
+
+        return y + h * (k1 + 2*k2 + 2*k3 + k4) / 6;
+    }
+
+    // Количество сохранённых контрольных точек (для тестов)
+    int checkpointCount() {
+        return checkpoints == null ? 0 : checkpoints.size();
+    }
+
+    /*
+     * Кэш контрольных точек. Точки каждого направления лежат в TreeMap по x, так что ближайшая
+     * к цели находится за O(log n); отдельный LinkedHashMap в порядке доступа (ключ — номер шага
+     * со знаком направления) задаёт порядок вытеснения давно не использованных точек.
+     * Значение — состояние {x, y, номер шага}.
+     */
+    private final class CheckpointCache {
+        private final TreeMap<Double, double[]> forward = new TreeMap<>();
+        private final TreeMap<Double, double[]> backward = new TreeMap<>();
+        private final Map<Long, double[]> recent;
+
+        CheckpointCache(int capacity) {
+            this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, double[]> eldest) {
+                    if (size() <= capacity) {
+                        return false;
+                    }
+                    (eldest.getKey() > 0 ? forward : backward).remove(eldest.getValue()[0]);
+                    return true;
+                }
+            };
+        }
+
+        synchronized void put(long key, double x, double y) {
+            if (recent.containsKey(key)) {
+                return;
+            }
+            double[] point = {x, y, Math.abs(key)};
+            (key > 0 ? forward : backward).put(x, point);
+            recent.put(key, point);
+        }
+
+        synchronized int size() {
+            return recent.size();
+        }
+
+        /*
+         * Ближайшая к xTarget точка, через которую проходит интегрирование от x0 в направлении
+         * direction: вперёд — наибольший x <= xTarget, назад — наименьший x >= xTarget.
+         * При отсутствии такой точки возвращается начальное состояние.
+         */
+        synchronized double[] nearest(int direction, double xTarget) {
+            Map.Entry<Double, double[]> entry = direction > 0 ? forward.floorEntry(xTarget) : backward.ceilingEntry(xTarget);
+            if (entry == null) {
+                return new double[]{x0, y0, 0};
+            }
+            double[] point = entry.getValue();
+            // Обращение обновляет порядок вытеснения
+            recent.get(direction * (long) point[2]);
+            return point.clone();
+        }
+    }
+
     // Вспомогательный интерфейс для функции двух переменных
     @FunctionalInterface
     public interface MathFunction2D {
         double apply(double x, double y);
     }
-}
\ No newline at end of file
+}
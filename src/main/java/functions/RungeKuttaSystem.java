@@ -0,0 +1,170 @@
+package functions;
+
+import functions.factory.TabulatedFunctionFactory;
+
+/**
+ * Решение системы ОДУ dy/dx = f(x, y), y(x0) = y0, где y — вектор из dimension компонент,
+ * методом Рунге-Кутты 4-го порядка.
+ * Состояние хранится в массивах double[]: правая часть записывает производные в переданный
+ * буфер, а все рабочие массивы создаются один раз на вызов и переиспользуются на каждом шаге.
+ * Уравнения высших порядков сводятся к системе, например y'' = -y — к (y, y')' = (y', -y).
+ */
+class RungeKuttaSystem {
+
+    private final double x0;
+    private final double[] y0;
+    private final SystemFunction f;
+    private final double stepSize;
+
+    public RungeKuttaSystem(double x0, double[] y0, SystemFunction f, double stepSize) {
+        if (y0 == null || y0.length == 0) {
+            throw new IllegalArgumentException("Initial state must not be empty");
+        }
+        if (f == null) {
+            throw new IllegalArgumentException("Function cannot be null");
+        }
+        if (!(stepSize > 0)) {
+            throw new IllegalArgumentException("Step size must be positive, got: " + stepSize);
+        }
+        this.x0 = x0;
+        this.y0 = y0.clone();
+        this.f = f;
+        this.stepSize = stepSize;
+    }
+
+    public int getDimension() {
+        return y0.length;
+    }
+
+    /**
+     * Записывает в result состояние системы в точке xTarget (интегрирование в любую сторону от x0).
+     */
+    public void integrate(double xTarget, double[] result) {
+        checkBuffer(result);
+        Workspace workspace = new Workspace(y0.length);
+        System.arraycopy(y0, 0, workspace.y, 0, y0.length);
+        advance(workspace, x0, xTarget);
+        System.arraycopy(workspace.y, 0, result, 0, y0.length);
+    }
+
+    public double[] integrate(double xTarget) {
+        double[] result = new double[y0.length];
+        integrate(xTarget, result);
+        return result;
+    }
+
+    /**
+     * Табулирует все компоненты решения на равномерной сетке из count точек между x0 и xTo
+     * за один проход; i-я функция результата — i-я компонента y.
+     * Между соседними узлами делается целое число равных шагов не длиннее stepSize,
+     * поэтому узлы сетки попадают в точки интегрирования точно.
+     */
+    public TabulatedFunction[] toTabulated(double xTo, int count, TabulatedFunctionFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        if (count < 2) {
+            throw new IllegalArgumentException("The length must be more than 2");
+        }
+        if (xTo == x0 || Double.isNaN(xTo)) {
+            throw new IllegalArgumentException("End point must differ from x0, got: " + xTo);
+        }
+        int dimension = y0.length;
+        boolean forward = xTo > x0;
+        double[] xValues = new double[count];
+        double[][] components = new double[dimension][count];
+
+        Workspace workspace = new Workspace(dimension);
+        System.arraycopy(y0, 0, workspace.y, 0, dimension);
+        double step = (xTo - x0) / (count - 1);
+        double x = x0;
+        for (int i = 0; i < count; i++) {
+            double node = x0 + i * step;
+            advance(workspace, x, node);
+            x = node;
+            // Узлы должны идти по возрастанию
+            int index = forward ? i : count - 1 - i;
+            xValues[index] = node;
+            for (int c = 0; c < dimension; c++) {
+                components[c][index] = workspace.y[c];
+            }
+        }
+
+        TabulatedFunction[] result = new TabulatedFunction[dimension];
+        for (int c = 0; c < dimension; c++) {
+            result[c] = ArrayTabulatedFunction.createOwned(factory, c == dimension - 1 ? xValues : xValues.clone(), components[c]);
+        }
+        return result;
+    }
+
+    // Интегрирует workspace.y от from до to равными шагами не длиннее stepSize
+    private void advance(Workspace workspace, double from, double to) {
+        double distance = to - from;
+        if (distance == 0) {
+            return;
+        }
+        long steps = (long) Math.ceil(Math.abs(distance) / stepSize);
+        double h = distance / steps;
+        for (long s = 0; s < steps; s++) {
+            step(workspace, from + s * h, h);
+        }
+    }
+
+    // Шаг метода Рунге-Кутты 4-го порядка над workspace.y
+    private void step(Workspace w, double x, double h) {
+        int n = w.y.length;
+        double[] y = w.y;
+        double[] stage = w.stage;
+
+        f.apply(x, y, w.k1);
+        for (int i = 0; i < n; i++) {
+            stage[i] = y[i] + h * w.k1[i] / 2;
+        }
+        f.apply(x + h / 2, stage, w.k2);
+        for (int i = 0; i < n; i++) {
+            stage[i] = y[i] + h * w.k2[i] / 2;
+        }
+        f.apply(x + h / 2, stage, w.k3);
+        for (int i = 0; i < n; i++) {
+            stage[i] = y[i] + h * w.k3[i];
+        }
+        f.apply(x + h, stage, w.k4);
+        for (int i = 0; i < n; i++) {
+            y[i] = y[i] + h * (w.k1[i] + 2 * w.k2[i] + 2 * w.k3[i] + w.k4[i]) / 6;
+        }
+    }
+
+    private void checkBuffer(double[] buffer) {
+        if (buffer == null || buffer.length != y0.length) {
+            throw new IllegalArgumentException("Buffer length must be " + y0.length);
+        }
+    }
+
+    // Рабочие массивы одного интегрирования
+    private static final class Workspace {
+        final double[] y;
+        final double[] stage;
+        final double[] k1;
+        final double[] k2;
+        final double[] k3;
+        final double[] k4;
+
+        Workspace(int dimension) {
+            y = new double[dimension];
+            stage = new double[dimension];
+            k1 = new double[dimension];
+            k2 = new double[dimension];
+            k3 = new double[dimension];
+            k4 = new double[dimension];
+        }
+    }
+
+    /**
+     * Правая часть системы: записывает f(x, y) в derivatives.
+     * Массив y менять нельзя; оба массива переиспользуются между вызовами.
+     */
+    @FunctionalInterface
+    public interface SystemFunction {
+        void apply(double x, double[] y, double[] derivatives);
+    }
+}
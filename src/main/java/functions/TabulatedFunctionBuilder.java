@@ -0,0 +1,73 @@
+package functions;
+
+import functions.factory.TabulatedFunctionFactory;
+
+import java.util.Arrays;
+
+/**
+ * Накопитель точек для построения табулированной функции, когда количество точек заранее неизвестно.
+ * Точки хранятся в растущих массивах (ёмкость удваивается), добавление в конец — амортизированно O(1);
+ * точка с меньшим x вставляется на своё место, точка с уже существующим x заменяет y.
+ */
+public class TabulatedFunctionBuilder implements Insertable {
+
+    private double[] xValues;
+    private double[] yValues;
+    private int count;
+
+    public TabulatedFunctionBuilder() {
+        this(16);
+    }
+
+    public TabulatedFunctionBuilder(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, got: " + initialCapacity);
+        }
+        this.xValues = new double[initialCapacity];
+        this.yValues = new double[initialCapacity];
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void insert(double x, double y) {
+        // Частый случай — точки приходят по возрастанию x
+        if (count == 0 || x > xValues[count - 1]) {
+            ensureCapacity();
+            xValues[count] = x;
+            yValues[count] = y;
+            count++;
+            return;
+        }
+        int index = Arrays.binarySearch(xValues, 0, count, x);
+        if (index >= 0) {
+            yValues[index] = y;
+            return;
+        }
+        int insertIndex = -index - 1;
+        ensureCapacity();
+        System.arraycopy(xValues, insertIndex, xValues, insertIndex + 1, count - insertIndex);
+        System.arraycopy(yValues, insertIndex, yValues, insertIndex + 1, count - insertIndex);
+        xValues[insertIndex] = x;
+        yValues[insertIndex] = y;
+        count++;
+    }
+
+    private void ensureCapacity() {
+        if (count == xValues.length) {
+            int capacity = xValues.length * 2;
+            xValues = Arrays.copyOf(xValues, capacity);
+            yValues = Arrays.copyOf(yValues, capacity);
+        }
+    }
+
+    // Создаёт функцию из накопленных точек
+    public TabulatedFunction build(TabulatedFunctionFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        return ArrayTabulatedFunction.createOwned(factory, Arrays.copyOf(xValues, count), Arrays.copyOf(yValues, count));
+    }
+}
@@ -0,0 +1,84 @@
+package functions;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.io.Serial;
+
+/**
+ * Компактная форма сериализации табулированных функций (подставляется через writeReplace).
+ * Формат: версия (byte), вид функции (byte), затем массивы x и y целиком.
+ * Вместо графа объектов (узлов списка, полей) в поток попадают только два массива double,
+ * которые ObjectOutputStream пишет одним блоком.
+ *
+ * Потоки, записанные до появления прокси (стандартная сериализация ArrayTabulatedFunction),
+ * по-прежнему читаются: поля и serialVersionUID классов не менялись.
+ */
+final class TabulatedFunctionSerialProxy implements Externalizable {
+
+    @Serial
+    private static final long serialVersionUID = 4139870582137592204L;
+
+    private static final byte VERSION = 1;
+    static final byte ARRAY = 0;
+    static final byte LINKED_LIST = 1;
+
+    private byte kind;
+    private double[] xValues;
+    private double[] yValues;
+
+    // Нужен механизму Externalizable
+    public TabulatedFunctionSerialProxy() {
+    }
+
+    TabulatedFunctionSerialProxy(byte kind, double[] xValues, double[] yValues) {
+        this.kind = kind;
+        this.xValues = xValues;
+        this.yValues = yValues;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(VERSION);
+        out.writeByte(kind);
+        out.writeObject(xValues);
+        out.writeObject(yValues);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new InvalidObjectException("Unsupported tabulated function format version: " + version);
+        }
+        kind = in.readByte();
+        Object x = in.readObject();
+        Object y = in.readObject();
+        if (!(x instanceof double[]) || !(y instanceof double[])) {
+            throw new InvalidObjectException("Expected double arrays");
+        }
+        xValues = (double[]) x;
+        yValues = (double[]) y;
+    }
+
+    @Serial
+    private Object readResolve() throws ObjectStreamException {
+        try {
+            switch (kind) {
+                case ARRAY:
+                    return ArrayTabulatedFunction.wrap(xValues, yValues);
+                case LINKED_LIST:
+                    return new LinkedListTabulatedFunction(xValues, yValues);
+                default:
+                    throw new InvalidObjectException("Unknown tabulated function kind: " + kind);
+            }
+        } catch (RuntimeException e) {
+            InvalidObjectException exception = new InvalidObjectException("Invalid tabulated function data: " + e.getMessage());
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+}
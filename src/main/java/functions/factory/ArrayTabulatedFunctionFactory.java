@@ -8,4 +8,4 @@ public class ArrayTabulatedFunctionFactory implements TabulatedFunctionFactory {
     public TabulatedFunction create(double[] xValues, double[] yValues) {
         return new ArrayTabulatedFunction(xValues, yValues);
     }
-}
\ No newline at end of file
+}
@@ -3,4 +3,12 @@ import functions.*;
 
 public interface TabulatedFunctionFactory {
     TabulatedFunction create(double[] xValues, double[] yValues);
+
+    /**
+     * Создаёт функцию из массивов, которые вызывающий код больше не использует.
+     * Фабрика вправе забрать их без защитного копирования; по умолчанию — обычный create.
+     */
+    default TabulatedFunction createOwned(double[] xValues, double[] yValues) {
+        return create(xValues, yValues);
+    }
 }
@@ -0,0 +1,336 @@
+package io;
+
+import functions.TabulatedFunction;
+import functions.factory.TabulatedFunctionFactory;
+import operations.TabulatedFunctionOperationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Асинхронное чтение и запись табулированных функций через AsynchronousFileChannel
+ * в бинарном формате FunctionsIO для каналов (заголовок, затем все x и все y).
+ *
+ * Операции не блокируют вызывающий поток: они ставятся в очередь и возвращают CompletableFuture.
+ * Одновременно выполняется не больше maxInFlight операций — остальные ждут в очереди,
+ * поэтому при загрузке тысяч файлов число открытых каналов и буферов ограничено.
+ */
+public class AsyncFunctionsIO {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncFunctionsIO.class);
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    // Буфер одной операции; данные передаются блоками этого размера
+    private static final int BUFFER_SIZE = 1 << 18;
+
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+
+    // Операция, завершившаяся сразу (например, файл не открылся), не должна запускать drain() рекурсивно
+    private final ThreadLocal<Boolean> draining = ThreadLocal.withInitial(() -> false);
+
+    public AsyncFunctionsIO() {
+        this(DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public AsyncFunctionsIO(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight operations must be positive, got: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    // Наибольшее число одновременно выполнявшихся операций — для тестов
+    int getPeakInFlight() {
+        return peakActive.get();
+    }
+
+    public CompletableFuture<TabulatedFunction> read(Path path, TabulatedFunctionFactory factory) {
+        if (path == null || factory == null) {
+            throw new IllegalArgumentException("Path and factory must not be null");
+        }
+        CompletableFuture<TabulatedFunction> result = new CompletableFuture<>();
+        submit(result, () -> {
+            logger.debug("Starting asynchronous read of {}", path);
+            AsynchronousFileChannel channel;
+            try {
+                channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+            } catch (IOException | RuntimeException e) {
+                finish(result, null, e);
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.limit(FunctionsIO.CHANNEL_HEADER_SIZE);
+            readFully(channel, buffer, 0).thenCompose(ignored -> {
+                buffer.flip();
+                ByteOrder order;
+                int count;
+                try {
+                    order = FunctionsIO.readChannelHeader(buffer);
+                    count = (int) buffer.getLong();
+                    // Размер проверяется до выделения массивов: заголовок может быть повреждён
+                    FunctionsIO.checkChannelData(count, channel.size() - FunctionsIO.CHANNEL_HEADER_SIZE);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+                double[] xValues = new double[count];
+                double[] yValues = new double[count];
+                return transferValues(channel, buffer, order, xValues, yValues, 0, false)
+                        .thenApply(done -> factory.createOwned(xValues, yValues));
+            }).whenComplete((function, error) -> {
+                close(channel);
+                finish(result, function, error);
+                logger.debug("Asynchronous read of {} finished", path);
+            });
+        });
+        return result;
+    }
+
+    // Загружает все файлы; результат — функции в порядке путей, при любой ошибке завершается исключением
+    public CompletableFuture<List<TabulatedFunction>> readAll(List<Path> paths, TabulatedFunctionFactory factory) {
+        List<CompletableFuture<TabulatedFunction>> futures = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            futures.add(read(path, factory));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<TabulatedFunction> functions = new ArrayList<>(futures.size());
+            for (CompletableFuture<TabulatedFunction> future : futures) {
+                functions.add(future.join());
+            }
+            return functions;
+        });
+    }
+
+    /**
+     * Значения функции копируются в момент вызова, так что последующие изменения функции
+     * на записываемые данные не влияют.
+     */
+    public CompletableFuture<Void> write(Path path, TabulatedFunction function, ByteOrder order) {
+        if (path == null || function == null || order == null) {
+            throw new IllegalArgumentException("Path, function and byte order must not be null");
+        }
+        int count = function.getCount();
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        TabulatedFunctionOperationService.toArrays(function, xValues, yValues);
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        submit(result, () -> {
+            logger.debug("Starting asynchronous write of {} points to {}", count, path);
+            AsynchronousFileChannel channel;
+            try {
+                channel = AsynchronousFileChannel.open(path, StandardOpenOption.WRITE,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                finish(result, null, e);
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            FunctionsIO.writeChannelHeader(buffer, count, order);
+            buffer.flip();
+            writeFully(channel, buffer, 0)
+                    .thenCompose(ignored -> transferValues(channel, buffer, order, xValues, yValues, 0, true))
+                    .whenComplete((done, error) -> {
+                        close(channel);
+                        finish(result, null, error);
+                        logger.debug("Asynchronous write to {} finished", path);
+                    });
+        });
+        return result;
+    }
+
+    public CompletableFuture<Void> write(Path path, TabulatedFunction function) {
+        return write(path, function, ByteOrder.nativeOrder());
+    }
+
+    /*
+     * Операция запускается сразу, если есть свободное разрешение, иначе ждёт в очереди.
+     * Операция сама вызывает finish для result; если она бросила исключение, не дойдя до этого,
+     * finish вызывается здесь, иначе разрешение так и осталось бы занятым.
+     */
+    <T> void submit(CompletableFuture<T> result, Runnable operation) {
+        pending.add(() -> {
+            try {
+                operation.run();
+            } catch (RuntimeException | Error e) {
+                logger.error("Asynchronous operation failed to start", e);
+                if (!result.isDone()) {
+                    finish(result, null, e);
+                }
+                if (e instanceof Error) {
+                    throw (Error) e;
+                }
+            }
+        });
+        drain();
+    }
+
+    private void drain() {
+        if (draining.get()) {
+            // Внешний цикл этого же потока перепроверит очередь
+            return;
+        }
+        draining.set(true);
+        try {
+            while (!pending.isEmpty() && permits.tryAcquire()) {
+                Runnable operation = pending.poll();
+                if (operation == null) {
+                    permits.release();
+                    continue;
+                }
+                int now = active.incrementAndGet();
+                peakActive.accumulateAndGet(now, Math::max);
+                operation.run();
+            }
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private <T> void finish(CompletableFuture<T> result, T value, Throwable error) {
+        active.decrementAndGet();
+        permits.release();
+        if (error == null) {
+            result.complete(value);
+        } else {
+            result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error);
+        }
+        drain();
+    }
+
+    private static void close(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close channel", e);
+        }
+    }
+
+    /**
+     * Передаёт значения блоками, начиная с номера from в общей последовательности
+     * x_0..x_{n-1}, y_0..y_{n-1}; в файле она начинается сразу после заголовка.
+     */
+    private static CompletableFuture<Void> transferValues(AsynchronousFileChannel channel, ByteBuffer buffer,
+                                                          ByteOrder order, double[] xValues, double[] yValues,
+                                                          long from, boolean write) {
+        // Число значений 2 * count может не поместиться в int
+        long total = 2L * xValues.length;
+        if (from == total) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int length = (int) Math.min(buffer.capacity() / Double.BYTES, total - from);
+        long position = FunctionsIO.CHANNEL_HEADER_SIZE + from * Double.BYTES;
+        buffer.clear();
+        buffer.limit(length * Double.BYTES);
+        if (write) {
+            copyValues(buffer.order(order).asDoubleBuffer(), xValues, yValues, from, length, true);
+            return writeFully(channel, buffer, position)
+                    .thenCompose(ignored -> transferValues(channel, buffer, order, xValues, yValues, from + length, true));
+        }
+        return readFully(channel, buffer, position).thenCompose(ignored -> {
+            buffer.flip();
+            copyValues(buffer.order(order).asDoubleBuffer(), xValues, yValues, from, length, false);
+            return transferValues(channel, buffer, order, xValues, yValues, from + length, false);
+        });
+    }
+
+    // Блок может начинаться в x и заканчиваться в y
+    private static void copyValues(DoubleBuffer doubles, double[] xValues, double[] yValues,
+                                   long from, int length, boolean toBuffer) {
+        int n = xValues.length;
+        long end = from + length;
+        if (from < n) {
+            int part = (int) (Math.min(end, n) - from);
+            if (toBuffer) {
+                doubles.put(xValues, (int) from, part);
+            } else {
+                doubles.get(xValues, (int) from, part);
+            }
+            from += part;
+        }
+        if (from < end) {
+            if (toBuffer) {
+                doubles.put(yValues, (int) (from - n), (int) (end - from));
+            } else {
+                doubles.get(yValues, (int) (from - n), (int) (end - from));
+            }
+        }
+    }
+
+    private static CompletableFuture<Void> readFully(AsynchronousFileChannel channel, ByteBuffer buffer, long position) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            channel.read(buffer, position, position, new CompletionHandler<Integer, Long>() {
+                @Override
+                public void completed(Integer read, Long start) {
+                    if (read < 0) {
+                        done.completeExceptionally(new EOFException("Unexpected end of channel"));
+                    } else if (buffer.hasRemaining()) {
+                        channel.read(buffer, start + read, start + read, this);
+                    } else {
+                        done.complete(null);
+                    }
+                }
+
+                @Override
+                public void failed(Throwable error, Long start) {
+                    done.completeExceptionally(error);
+                }
+            });
+        } catch (RuntimeException e) {
+            done.completeExceptionally(e);
+        }
+        return done;
+    }
+
+    private static CompletableFuture<Void> writeFully(AsynchronousFileChannel channel, ByteBuffer buffer, long position) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            channel.write(buffer, position, position, new CompletionHandler<Integer, Long>() {
+                @Override
+                public void completed(Integer written, Long start) {
+                    if (buffer.hasRemaining()) {
+                        channel.write(buffer, start + written, start + written, this);
+                    } else {
+                        done.complete(null);
+                    }
+                }
+
+                @Override
+                public void failed(Throwable error, Long start) {
+                    done.completeExceptionally(error);
+                }
+            });
+        } catch (RuntimeException e) {
+            done.completeExceptionally(e);
+        }
+        return done;
+    }
+}
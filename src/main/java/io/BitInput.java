@@ -0,0 +1,46 @@
+package io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Побитовое чтение из потока, парное к BitOutput
+final class BitInput {
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
+    private long bits;
+    private int bitCount;
+
+    BitInput(InputStream in) {
+        this.in = in;
+    }
+
+    // Читает count (0..64) битов, первый прочитанный бит становится старшим
+    long read(int count) throws IOException {
+        if (count > 32) {
+            long high = read(count - 32);
+            return (high << 32) | read(32);
+        }
+        while (bitCount < count) {
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    throw new EOFException("Unexpected end of compressed stream");
+                }
+            }
+            bits = (bits << 8) | (buffer[position++] & 0xFF);
+            bitCount += 8;
+        }
+        bitCount -= count;
+        return count == 0 ? 0 : (bits >>> bitCount) & ((1L << count) - 1);
+    }
+
+    boolean readBit() throws IOException {
+        return read(1) != 0;
+    }
+}
@@ -0,0 +1,53 @@
+package io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Побитовая запись в поток: биты копятся в long и выгружаются байтами через небольшой буфер
+final class BitOutput {
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private long bits;
+    private int bitCount;
+
+    BitOutput(OutputStream out) {
+        this.out = out;
+    }
+
+    // Пишет младшие count (0..64) битов value, начиная со старшего из них
+    void write(long value, int count) throws IOException {
+        if (count > 32) {
+            write(value >>> 32, count - 32);
+            count = 32;
+        }
+        if (count == 0) {
+            return;
+        }
+        bits = (bits << count) | (value & ((1L << count) - 1));
+        bitCount += count;
+        while (bitCount >= 8) {
+            bitCount -= 8;
+            if (position == buffer.length) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+            buffer[position++] = (byte) (bits >>> bitCount);
+        }
+    }
+
+    void writeBit(boolean bit) throws IOException {
+        write(bit ? 1 : 0, 1);
+    }
+
+    // Дописывает неполный байт нулями и сбрасывает буфер в поток
+    void flush() throws IOException {
+        if (bitCount > 0) {
+            write(0, 8 - bitCount);
+        }
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+}
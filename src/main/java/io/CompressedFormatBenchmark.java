@@ -0,0 +1,101 @@
+package io;
+
+import functions.ArrayTabulatedFunction;
+import functions.TabulatedFunction;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.TabulatedFunctionFactory;
+
+import java.io.*;
+
+/**
+ * Сравнение сжатого формата с обычным бинарным (int + пары double) по размеру и скорости.
+ * Функции: exp(x) * sin(x) на равномерной сетке и та же функция на неравномерной сетке.
+ */
+public class CompressedFormatBenchmark {
+
+    private static final int POINTS = 1_000_000;
+    private static final int REPEATS = 5;
+
+    private interface Codec {
+        void write(OutputStream out, TabulatedFunction function) throws IOException;
+
+        TabulatedFunction read(InputStream in, TabulatedFunctionFactory factory) throws IOException;
+    }
+
+    private static void measure(String name, TabulatedFunction function, Codec codec) throws IOException {
+        TabulatedFunctionFactory factory = new ArrayTabulatedFunctionFactory();
+        byte[] bytes = null;
+        long writeNanos = Long.MAX_VALUE;
+        long readNanos = Long.MAX_VALUE;
+        for (int r = 0; r < REPEATS; r++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            long start = System.nanoTime();
+            codec.write(out, function);
+            writeNanos = Math.min(writeNanos, System.nanoTime() - start);
+            bytes = out.toByteArray();
+
+            start = System.nanoTime();
+            codec.read(new ByteArrayInputStream(bytes), factory);
+            readNanos = Math.min(readNanos, System.nanoTime() - start);
+        }
+        double megabytes = 16.0 * function.getCount() / (1 << 20);
+        System.out.printf("%-22s | %10d | %6.2f | %8.1f | %8.1f%n", name, bytes.length,
+                16.0 * function.getCount() / bytes.length,
+                megabytes / (writeNanos * 1e-9), megabytes / (readNanos * 1e-9));
+    }
+
+    private static void compare(String title, TabulatedFunction function) throws IOException {
+        System.out.println(title);
+        System.out.printf("%-22s | %10s | %6s | %8s | %8s%n", "format", "bytes", "ratio", "write MB/s", "read MB/s");
+        measure("plain binary", function, new Codec() {
+            @Override
+            public void write(OutputStream out, TabulatedFunction f) throws IOException {
+                FunctionsIO.writeTabulatedFunction(new BufferedOutputStream(out), f);
+            }
+
+            @Override
+            public TabulatedFunction read(InputStream in, TabulatedFunctionFactory factory) throws IOException {
+                return FunctionsIO.readTabulatedFunction(new BufferedInputStream(in), factory);
+            }
+        });
+        measure("compressed", function, new Codec() {
+            @Override
+            public void write(OutputStream out, TabulatedFunction f) throws IOException {
+                CompressedFunctionsIO.write(out, f, false);
+            }
+
+            @Override
+            public TabulatedFunction read(InputStream in, TabulatedFunctionFactory factory) throws IOException {
+                return CompressedFunctionsIO.read(in, factory);
+            }
+        });
+        measure("compressed + deflate", function, new Codec() {
+            @Override
+            public void write(OutputStream out, TabulatedFunction f) throws IOException {
+                CompressedFunctionsIO.write(out, f, true);
+            }
+
+            @Override
+            public TabulatedFunction read(InputStream in, TabulatedFunctionFactory factory) throws IOException {
+                return CompressedFunctionsIO.read(in, factory);
+            }
+        });
+        System.out.println();
+    }
+
+    public static void main(String[] args) throws IOException {
+        TabulatedFunction uniform = new ArrayTabulatedFunction(x -> Math.exp(x) * Math.sin(x), 0.0, 10.0, POINTS);
+
+        double[] xValues = new double[POINTS];
+        double[] yValues = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            double t = (double) i / (POINTS - 1);
+            xValues[i] = 10.0 * t * t;
+            yValues[i] = Math.exp(xValues[i]) * Math.sin(xValues[i]);
+        }
+        TabulatedFunction nonUniform = new ArrayTabulatedFunction(xValues, yValues);
+
+        compare("Uniform grid, " + POINTS + " points", uniform);
+        compare("Non-uniform grid, " + POINTS + " points", nonUniform);
+    }
+}
@@ -0,0 +1,271 @@
+package io;
+
+import functions.TabulatedFunction;
+import functions.factory.TabulatedFunctionFactory;
+import operations.TabulatedFunctionOperationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Сжатый бинарный формат табулированных функций (без потерь).
+ *
+ * Заголовок: магическое число (int), версия (byte), флаги (byte), количество точек (int).
+ * Далее битовый поток (при флаге DEFLATE — дополнительно сжатый Deflater):
+ *  - x: если узлы образуют равномерную сетку x_i = x_0 + i * step (именно так их строят
+ *    конструкторы табуляции), пишутся только x_0 и step; иначе — первые два значения как есть,
+ *    а затем «разность разностей» битовых представлений double (для гладкой сетки почти всегда 0);
+ *  - y: XOR с предыдущим значением в духе Gorilla: для соседних значений гладкой функции
+ *    совпадают знак, порядок и старшие биты мантиссы, и хранится только короткое «окно» значащих битов.
+ * Чтение и запись идут потоково, промежуточный массив байтов не создаётся.
+ * Чтение может забрать из потока байты сверх конца функции, поэтому функция должна быть в потоке последней.
+ */
+public final class CompressedFunctionsIO {
+    private static final Logger logger = LoggerFactory.getLogger(CompressedFunctionsIO.class);
+
+    static final int MAGIC = 0x54464358; // "TFCX"
+    static final byte VERSION = 1;
+    static final int FLAG_DEFLATE = 1;
+    private static final int FLAG_GRID = 2;
+
+    private CompressedFunctionsIO() {
+        throw new UnsupportedOperationException("Utility class CompressedFunctionsIO cannot be instantiated");
+    }
+
+    public static void write(OutputStream outputStream, TabulatedFunction function, boolean deflate) throws IOException {
+        logger.info("Starting compressed serialization of function {} with {} points", function.getClass().getSimpleName(), function.getCount());
+        int count = function.getCount();
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        TabulatedFunctionOperationService.toArrays(function, xValues, yValues);
+
+        double step = (xValues[count - 1] - xValues[0]) / (count - 1);
+        boolean grid = isGrid(xValues, step);
+
+        DataOutputStream header = new DataOutputStream(outputStream);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeByte((deflate ? FLAG_DEFLATE : 0) | (grid ? FLAG_GRID : 0));
+        header.writeInt(count);
+        header.flush();
+
+        Deflater deflater = deflate ? new Deflater(Deflater.BEST_SPEED) : null;
+        try {
+            DeflaterOutputStream deflaterStream = null;
+            OutputStream body = outputStream;
+            if (deflater != null) {
+                deflaterStream = new DeflaterOutputStream(outputStream, deflater, 1 << 16);
+                body = deflaterStream;
+            }
+            BitOutput bits = new BitOutput(body);
+
+            if (grid) {
+                bits.write(Double.doubleToRawLongBits(xValues[0]), 64);
+                bits.write(Double.doubleToRawLongBits(step), 64);
+            } else {
+                writeDeltaOfDelta(bits, xValues);
+            }
+            writeXor(bits, yValues);
+            bits.flush();
+            if (deflaterStream != null) {
+                // Сам поток не закрывается: outputStream принадлежит вызывающему коду
+                deflaterStream.finish();
+            }
+        } finally {
+            // Нативная память zlib освобождается и при ошибке записи
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        outputStream.flush();
+        logger.info("Function {} successfully written in compressed format (grid = {})", function.getClass().getSimpleName(), grid);
+    }
+
+    public static TabulatedFunction read(InputStream inputStream, TabulatedFunctionFactory factory) throws IOException {
+        logger.info("Starting compressed deserialization using factory {}", factory.getClass().getSimpleName());
+        DataInputStream header = new DataInputStream(inputStream);
+        int magic = header.readInt();
+        if (magic != MAGIC) {
+            logger.error("Invalid compressed format magic: {}", Integer.toHexString(magic));
+            throw new IOException("Invalid format: bad magic number " + Integer.toHexString(magic));
+        }
+        byte version = header.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compressed format version: " + version);
+        }
+        int flags = header.readByte();
+        int count = header.readInt();
+        if (count < 2) {
+            throw new IOException("Invalid point count: " + count);
+        }
+
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        Inflater inflater = (flags & FLAG_DEFLATE) != 0 ? new Inflater() : null;
+        try {
+            // InflaterInputStream не закрывается: inputStream принадлежит вызывающему коду
+            InputStream body = inflater != null ? new InflaterInputStream(inputStream, inflater) : inputStream;
+            BitInput bits = new BitInput(body);
+
+            if ((flags & FLAG_GRID) != 0) {
+                double x0 = Double.longBitsToDouble(bits.read(64));
+                double step = Double.longBitsToDouble(bits.read(64));
+                for (int i = 0; i < count; i++) {
+                    xValues[i] = x0 + i * step;
+                }
+            } else {
+                readDeltaOfDelta(bits, xValues);
+            }
+            readXor(bits, yValues);
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+
+        TabulatedFunction result = factory.createOwned(xValues, yValues);
+        logger.info("Function {} successfully read from compressed format", result.getClass().getSimpleName());
+        return result;
+    }
+
+    // Узлы побитово совпадают с x_0 + i * step (== не отличает -0.0 от 0.0, который даёт x_0 + 0 * step)
+    private static boolean isGrid(double[] xValues, double step) {
+        for (int i = 0; i < xValues.length; i++) {
+            if (Double.doubleToRawLongBits(xValues[i]) != Double.doubleToRawLongBits(xValues[0] + i * step)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Разность разностей битовых представлений кодируется префиксом переменной длины:
+     * 0 — ноль; 10 — 7 бит; 110 — 12 бит; 1110 — 20 бит; 11110 — 32 бита; 11111 — 64 бита
+     * (значения — в zigzag-кодировании, чтобы малые отрицательные числа были короткими).
+     */
+    private static final int[] DOD_WIDTHS = {7, 12, 20, 32};
+
+    private static void writeDeltaOfDelta(BitOutput bits, double[] values) throws IOException {
+        long previous = Double.doubleToRawLongBits(values[0]);
+        long current = Double.doubleToRawLongBits(values[1]);
+        bits.write(previous, 64);
+        bits.write(current, 64);
+        long delta = current - previous;
+        for (int i = 2; i < values.length; i++) {
+            long next = Double.doubleToRawLongBits(values[i]);
+            long newDelta = next - current;
+            long dod = newDelta - delta;
+            writeZigZag(bits, (dod << 1) ^ (dod >> 63));
+            delta = newDelta;
+            current = next;
+        }
+    }
+
+    private static void writeZigZag(BitOutput bits, long value) throws IOException {
+        if (value == 0) {
+            bits.write(0, 1);
+            return;
+        }
+        for (int k = 0; k < DOD_WIDTHS.length; k++) {
+            if (value >>> DOD_WIDTHS[k] == 0) {
+                // k+1 единиц и завершающий ноль
+                bits.write((1L << (k + 2)) - 2, k + 2);
+                bits.write(value, DOD_WIDTHS[k]);
+                return;
+            }
+        }
+        bits.write(0b11111, 5);
+        bits.write(value, 64);
+    }
+
+    private static void readDeltaOfDelta(BitInput bits, double[] values) throws IOException {
+        long previous = bits.read(64);
+        long current = bits.read(64);
+        values[0] = Double.longBitsToDouble(previous);
+        values[1] = Double.longBitsToDouble(current);
+        long delta = current - previous;
+        for (int i = 2; i < values.length; i++) {
+            long zigzag = readZigZag(bits);
+            long dod = (zigzag >>> 1) ^ -(zigzag & 1);
+            delta += dod;
+            current += delta;
+            values[i] = Double.longBitsToDouble(current);
+        }
+    }
+
+    private static long readZigZag(BitInput bits) throws IOException {
+        int ones = 0;
+        while (ones < 5 && bits.readBit()) {
+            ones++;
+        }
+        if (ones == 0) {
+            return 0;
+        }
+        return bits.read(ones == 5 ? 64 : DOD_WIDTHS[ones - 1]);
+    }
+
+    /*
+     * XOR-кодирование (Gorilla): 0 — значение совпало с предыдущим;
+     * 10 — значащие биты XOR помещаются в прежнее окно [leading, 64 - trailing);
+     * 11 — новое окно: 6 бит на число ведущих нулей, 6 бит на (длина окна - 1), затем сами биты.
+     */
+    private static void writeXor(BitOutput bits, double[] values) throws IOException {
+        long previous = Double.doubleToRawLongBits(values[0]);
+        bits.write(previous, 64);
+        int windowLeading = -1;
+        int windowTrailing = 0;
+        for (int i = 1; i < values.length; i++) {
+            long current = Double.doubleToRawLongBits(values[i]);
+            long xor = current ^ previous;
+            previous = current;
+            if (xor == 0) {
+                bits.write(0, 1);
+                continue;
+            }
+            int leading = Long.numberOfLeadingZeros(xor);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (windowLeading >= 0 && leading >= windowLeading && trailing >= windowTrailing) {
+                bits.write(0b10, 2);
+                bits.write(xor >>> windowTrailing, 64 - windowLeading - windowTrailing);
+            } else {
+                int length = 64 - leading - trailing;
+                bits.write(0b11, 2);
+                bits.write(leading, 6);
+                bits.write(length - 1, 6);
+                bits.write(xor >>> trailing, length);
+                windowLeading = leading;
+                windowTrailing = trailing;
+            }
+        }
+    }
+
+    private static void readXor(BitInput bits, double[] values) throws IOException {
+        long previous = bits.read(64);
+        values[0] = Double.longBitsToDouble(previous);
+        int windowLeading = 0;
+        int windowTrailing = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (bits.readBit()) {
+                if (bits.readBit()) {
+                    windowLeading = (int) bits.read(6);
+                    int length = (int) bits.read(6) + 1;
+                    windowTrailing = 64 - windowLeading - length;
+                    if (windowTrailing < 0) {
+                        throw new IOException("Corrupted compressed stream: invalid XOR window");
+                    }
+                }
+                previous ^= bits.read(64 - windowLeading - windowTrailing) << windowTrailing;
+            }
+            values[i] = Double.longBitsToDouble(previous);
+        }
+    }
+}
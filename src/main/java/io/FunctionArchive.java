@@ -0,0 +1,163 @@
+package io;
+
+import functions.TabulatedFunction;
+import functions.factory.TabulatedFunctionFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Архив многих именованных табулированных функций с индексом в конце файла.
+ *
+ * Формат:
+ *      заголовок: магическое число (int), версия (int)
+ *      данные: для каждой функции — count значений x, затем count значений y (double, little-endian)
+ *      индекс: для каждой функции — длина имени (short), имя (UTF-8), смещение данных (long), count (int)
+ *      хвост: смещение индекса (long), число функций (int), магическое число (int)
+ * Заголовок, индекс и хвост — big-endian.
+ *
+ * При открытии читается только индекс; данные нужной функции (или диапазона её точек)
+ * отображаются в память по смещению из индекса, без чтения соседних функций.
+ */
+public class FunctionArchive implements Closeable {
+
+    static final int MAGIC = 0x54464152; // "TFAR"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int TRAILER_SIZE = 16;
+    static final ByteOrder DATA_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // Запись индекса
+    static final class Entry {
+        final String name;
+        final long offset;
+        final int count;
+
+        Entry(String name, long offset, int count) {
+            this.name = name;
+            this.offset = offset;
+            this.count = count;
+        }
+    }
+
+    private final FileChannel channel;
+    private final Map<String, Entry> index = new LinkedHashMap<>();
+
+    public FunctionArchive(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            readIndex();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void readIndex() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE + TRAILER_SIZE) {
+            throw new IOException("File is too small to be a function archive");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Invalid format: bad archive magic number");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported archive version: " + version);
+        }
+
+        ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_SIZE, TRAILER_SIZE);
+        long indexOffset = trailer.getLong();
+        int entries = trailer.getInt();
+        if (trailer.getInt() != MAGIC || indexOffset < HEADER_SIZE || indexOffset > size - TRAILER_SIZE || entries < 0) {
+            throw new IOException("Invalid format: archive index is damaged");
+        }
+
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, size - TRAILER_SIZE - indexOffset);
+        try {
+            for (int i = 0; i < entries; i++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                long offset = buffer.getLong();
+                int count = buffer.getInt();
+                if (offset < HEADER_SIZE || count < 0 || offset + 2L * count * Double.BYTES > indexOffset) {
+                    throw new IOException("Invalid format: archive entry " + i + " is out of bounds");
+                }
+                Entry entry = new Entry(new String(name, StandardCharsets.UTF_8), offset, count);
+                index.put(entry.name, entry);
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IOException("Invalid format: archive index is truncated", e);
+        }
+    }
+
+    // Имена функций в порядке записи
+    public Set<String> names() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    public boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    public int getCount(String name) throws IOException {
+        return entry(name).count;
+    }
+
+    public TabulatedFunction read(String name, TabulatedFunctionFactory factory) throws IOException {
+        Entry entry = entry(name);
+        return read(entry, 0, entry.count, factory);
+    }
+
+    /**
+     * Читает точки с индексами [from, to) функции name как отдельную табулированную функцию.
+     */
+    public TabulatedFunction read(String name, int from, int to, TabulatedFunctionFactory factory) throws IOException {
+        Entry entry = entry(name);
+        if (from < 0 || to > entry.count || to - from < 2) {
+            throw new IndexOutOfBoundsException("Invalid point range [" + from + ", " + to + ") for " + entry.count + " points");
+        }
+        return read(entry, from, to, factory);
+    }
+
+    private TabulatedFunction read(Entry entry, int from, int to, TabulatedFunctionFactory factory) throws IOException {
+        int length = to - from;
+        double[] xValues = new double[length];
+        double[] yValues = new double[length];
+        map(entry.offset + (long) from * Double.BYTES, length).get(xValues);
+        map(entry.offset + ((long) entry.count + from) * Double.BYTES, length).get(yValues);
+        return factory.createOwned(xValues, yValues);
+    }
+
+    private DoubleBuffer map(long offset, int length) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, (long) length * Double.BYTES);
+        return mapped.order(DATA_ORDER).asDoubleBuffer();
+    }
+
+    private Entry entry(String name) throws IOException {
+        Entry entry = index.get(name);
+        if (entry == null) {
+            throw new IOException("Function not found in archive: " + name);
+        }
+        return entry;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,122 @@
+package io;
+
+import functions.TabulatedFunction;
+import operations.TabulatedFunctionOperationService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Запись архива именованных табулированных функций (формат см. в FunctionArchive).
+ * Функции пишутся одна за другой, индекс — в конце файла при close().
+ */
+public class FunctionArchiveWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+    private final List<FunctionArchive.Entry> entries = new ArrayList<>();
+    private final Set<String> names = new HashSet<>();
+    private long position = FunctionArchive.HEADER_SIZE;
+    private boolean closed;
+
+    public FunctionArchiveWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            buffer.clear();
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            buffer.putInt(FunctionArchive.MAGIC);
+            buffer.putInt(FunctionArchive.VERSION);
+            buffer.flip();
+            FunctionsIO.writeFully(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            // Объект не создан, и закрыть канал больше некому
+            try {
+                channel.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    public void add(String name, TabulatedFunction function) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Archive is closed");
+        }
+        if (name == null || function == null) {
+            throw new IllegalArgumentException("Name and function must not be null");
+        }
+        if (name.getBytes(StandardCharsets.UTF_8).length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Name is too long");
+        }
+        if (names.contains(name)) {
+            throw new IllegalArgumentException("Duplicate function name: " + name);
+        }
+        int count = function.getCount();
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        TabulatedFunctionOperationService.toArrays(function, xValues, yValues);
+
+        try {
+            FunctionsIO.writeDoubles(channel, buffer, xValues, FunctionArchive.DATA_ORDER);
+            FunctionsIO.writeDoubles(channel, buffer, yValues, FunctionArchive.DATA_ORDER);
+        } catch (IOException e) {
+            // Частично записанные данные будут перезаписаны следующей функцией
+            channel.position(position);
+            throw e;
+        }
+        // Имя занимается только после успешной записи, чтобы повтор с тем же именем был возможен
+        names.add(name);
+        entries.add(new FunctionArchive.Entry(name, position, count));
+        position += 2L * count * Double.BYTES;
+    }
+
+    // Дописывает индекс и хвост архива
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long indexOffset = position;
+            buffer.clear();
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            for (FunctionArchive.Entry entry : entries) {
+                byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < name.length + 2 + Long.BYTES + Integer.BYTES) {
+                    buffer.flip();
+                    FunctionsIO.writeFully(channel, buffer);
+                    buffer.clear();
+                }
+                buffer.putShort((short) name.length);
+                buffer.put(name);
+                buffer.putLong(entry.offset);
+                buffer.putInt(entry.count);
+            }
+            if (buffer.remaining() < FunctionArchive.TRAILER_SIZE) {
+                buffer.flip();
+                FunctionsIO.writeFully(channel, buffer);
+                buffer.clear();
+            }
+            buffer.putLong(indexOffset);
+            buffer.putInt(entries.size());
+            buffer.putInt(FunctionArchive.MAGIC);
+            buffer.flip();
+            FunctionsIO.writeFully(channel, buffer);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package io;
+
+import functions.TabulatedFunction;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.TabulatedFunctionFactory;
+import operations.TabulatedFunctionOperationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Параллельная загрузка всех функций из каталога.
+ * Формат каждого файла определяется по его началу (см. {@link #detectFormat}), функции создаются
+ * выбранной фабрикой. Ошибка в одном файле не прерывает загрузку остальных: для каждого файла
+ * в отчёт попадает либо функция, либо исключение, а также время загрузки.
+ *
+ * Файлы стандартной сериализации Java по умолчанию не загружаются (это десериализация
+ * непроверенных данных): их нужно явно разрешить через setSerializedAllowed, и тогда
+ * ObjectInputStream принимает только классы табулированных функций.
+ */
+public class FunctionDirectoryLoader {
+    private static final Logger logger = LoggerFactory.getLogger(FunctionDirectoryLoader.class);
+
+    public enum Format {
+        // Текстовая таблица: "count", затем строки "x y" (количество может отсутствовать)
+        TEXT,
+        // Поток writeTabulatedFunction(BufferedOutputStream): count (int), затем пары (x, y)
+        BINARY,
+        // Формат для FileChannel с заголовком FunctionsIO.CHANNEL_MAGIC
+        CHANNEL,
+        // Сжатый формат CompressedFunctionsIO
+        COMPRESSED,
+        // Стандартная сериализация Java (FunctionsIO.serialize); только при setSerializedAllowed(true)
+        SERIALIZED
+    }
+
+    // Результат загрузки одного файла
+    public static final class Result {
+        private final Path path;
+        private final Format format;
+        private final TabulatedFunction function;
+        private final Exception error;
+        private final long nanos;
+
+        Result(Path path, Format format, TabulatedFunction function, Exception error, long nanos) {
+            this.path = path;
+            this.format = format;
+            this.function = function;
+            this.error = error;
+            this.nanos = nanos;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        // null, если файл не удалось даже прочитать
+        public Format getFormat() {
+            return format;
+        }
+
+        public TabulatedFunction getFunction() {
+            return function;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return path.getFileName() + " [" + format + "] " + nanos / 1000 + " us"
+                    + (isSuccess() ? ", " + function.getCount() + " points" : ", failed: " + error);
+        }
+    }
+
+    // Отчёт о загрузке каталога; результаты упорядочены по имени файла
+    public static final class Report {
+        private final List<Result> results;
+        private final long nanos;
+
+        Report(List<Result> results, long nanos) {
+            this.results = Collections.unmodifiableList(results);
+            this.nanos = nanos;
+        }
+
+        public List<Result> getResults() {
+            return results;
+        }
+
+        // Успешно загруженные функции по путям
+        public Map<Path, TabulatedFunction> getFunctions() {
+            Map<Path, TabulatedFunction> functions = new LinkedHashMap<>();
+            for (Result result : results) {
+                if (result.isSuccess()) {
+                    functions.put(result.getPath(), result.getFunction());
+                }
+            }
+            return functions;
+        }
+
+        public List<Result> getFailures() {
+            List<Result> failures = new ArrayList<>();
+            for (Result result : results) {
+                if (!result.isSuccess()) {
+                    failures.add(result);
+                }
+            }
+            return failures;
+        }
+
+        // Общее время загрузки каталога (по часам, а не сумма времён файлов)
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    // Байтов, достаточных для определения формата
+    private static final int PROBE_SIZE = 8;
+    private static final int SERIALIZATION_MAGIC = 0xACED;
+
+    // Классы, допустимые в сериализованной функции (массивы double фильтр пропускает сам)
+    private static final ObjectInputFilter FUNCTION_FILTER = ObjectInputFilter.Config.createFilter(
+            "functions.TabulatedFunctionSerialProxy;functions.ArrayTabulatedFunction;"
+                    + "functions.LinkedListTabulatedFunction;maxdepth=4;!*");
+
+    private TabulatedFunctionFactory factory;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private String glob = "*";
+    private boolean serializedAllowed;
+
+    // Конструктор без аргументов — по умолчанию ArrayTabulatedFunctionFactory
+    public FunctionDirectoryLoader() {
+        this.factory = new ArrayTabulatedFunctionFactory();
+    }
+
+    public FunctionDirectoryLoader(TabulatedFunctionFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        this.factory = factory;
+    }
+
+    public TabulatedFunctionFactory getFactory() {
+        return factory;
+    }
+
+    public void setFactory(TabulatedFunctionFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        this.factory = factory;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, got: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public String getGlob() {
+        return glob;
+    }
+
+    // Шаблон имён загружаемых файлов, например "*.{txt,bin}"
+    public void setGlob(String glob) {
+        if (glob == null || glob.isEmpty()) {
+            throw new IllegalArgumentException("Glob must not be empty");
+        }
+        this.glob = glob;
+    }
+
+    public boolean isSerializedAllowed() {
+        return serializedAllowed;
+    }
+
+    // Разрешает загрузку файлов стандартной сериализации Java (с фильтром классов)
+    public void setSerializedAllowed(boolean serializedAllowed) {
+        this.serializedAllowed = serializedAllowed;
+    }
+
+    /**
+     * Загружает все обычные файлы каталога (без подкаталогов), подходящие под шаблон.
+     * IOException бросается только если не удалось прочитать сам каталог.
+     */
+    public Report load(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path path : stream) {
+                if (Files.isRegularFile(path)) {
+                    files.add(path);
+                }
+            }
+        }
+        Collections.sort(files);
+        return load(files);
+    }
+
+    public Report load(List<Path> files) {
+        logger.info("Loading {} function files with parallelism {}", files.size(), parallelism);
+        long start = System.nanoTime();
+        List<Result> results = new ArrayList<>(files.size());
+        int threads = Math.min(parallelism, Math.max(files.size(), 1));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Result>> tasks = new ArrayList<>(files.size());
+            for (Path file : files) {
+                tasks.add(() -> loadFile(file));
+            }
+            List<Future<Result>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    // loadFile перехватывает исключения сам; сюда попадают только Error
+                    results.add(new Result(files.get(i), null, null, new IOException(e.getCause()), 0));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Loading was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        Report report = new Report(results, System.nanoTime() - start);
+        logger.info("Loaded {} of {} function files in {} ms", results.size() - report.getFailures().size(),
+                results.size(), report.getNanos() / 1_000_000);
+        return report;
+    }
+
+    // Загружает один файл, не выбрасывая исключений
+    Result loadFile(Path file) {
+        long start = System.nanoTime();
+        Format format = null;
+        try {
+            format = detectFormat(file, serializedAllowed);
+            TabulatedFunction function = read(file, format);
+            return new Result(file, format, function, null, System.nanoTime() - start);
+        } catch (Exception e) {
+            logger.warn("Failed to load function from {}: {}", file, e.toString());
+            return new Result(file, format, null, e, System.nanoTime() - start);
+        }
+    }
+
+    private TabulatedFunction read(Path file, Format format) throws IOException, ClassNotFoundException {
+        switch (format) {
+            case CHANNEL:
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    return FunctionsIO.readTabulatedFunction(channel, factory);
+                }
+            case COMPRESSED:
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                    return CompressedFunctionsIO.read(in, factory);
+                }
+            case BINARY:
+                try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                    return FunctionsIO.readTabulatedFunction(in, factory);
+                }
+            case SERIALIZED:
+                try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                    in.setObjectInputFilter(FUNCTION_FILTER);
+                    Object object = in.readObject();
+                    if (!(object instanceof TabulatedFunction)) {
+                        throw new InvalidObjectException("Not a tabulated function: " + object.getClass().getName());
+                    }
+                    // Класс функции задан в файле; пересоздаём её выбранной фабрикой
+                    TabulatedFunction function = (TabulatedFunction) object;
+                    double[] xValues = new double[function.getCount()];
+                    double[] yValues = new double[function.getCount()];
+                    TabulatedFunctionOperationService.toArrays(function, xValues, yValues);
+                    return factory.createOwned(xValues, yValues);
+                }
+            default:
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    return FunctionsIO.readTabulatedFunctionStreaming(reader, factory);
+                }
+        }
+    }
+
+    // Формат SERIALIZED автоматически не определяется: для такого файла бросается IOException
+    public static Format detectFormat(Path file) throws IOException {
+        return detectFormat(file, false);
+    }
+
+    private static Format detectFormat(Path file, boolean serializedAllowed) throws IOException {
+        long size = Files.size(file);
+        byte[] probe = new byte[PROBE_SIZE];
+        int length;
+        try (InputStream in = Files.newInputStream(file)) {
+            length = in.readNBytes(probe, 0, PROBE_SIZE);
+        }
+        return detectFormat(probe, length, size, serializedAllowed);
+    }
+
+    /**
+     * Определяет формат по первым байтам файла и его размеру.
+     * Бинарные форматы с заголовком узнаются по магическому числу; формат без заголовка
+     * (count, затем пары double) — по совпадению размера файла с 4 + 16 * count.
+     * Поток сериализации Java принимается только при serializedAllowed.
+     * Всё остальное считается текстом.
+     */
+    static Format detectFormat(byte[] probe, int length, long size, boolean serializedAllowed) throws IOException {
+        if (length >= 4) {
+            int head = ByteBuffer.wrap(probe, 0, 4).getInt();
+            if (head == FunctionsIO.CHANNEL_MAGIC) {
+                return Format.CHANNEL;
+            }
+            if (head == CompressedFunctionsIO.MAGIC) {
+                return Format.COMPRESSED;
+            }
+            if (head >>> 16 == SERIALIZATION_MAGIC) {
+                if (!serializedAllowed) {
+                    throw new IOException("Java serialization stream is not loaded unless explicitly allowed");
+                }
+                return Format.SERIALIZED;
+            }
+            if (head >= 0 && Integer.BYTES + 2L * Double.BYTES * head == size) {
+                return Format.BINARY;
+            }
+        }
+        return Format.TEXT;
+    }
+}
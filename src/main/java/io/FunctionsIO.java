@@ -1,17 +1,29 @@
 package io;
 import functions.*;
 import functions.factory.*;
+import operations.TabulatedFunctionOperationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
-import java.text.NumberFormat;
-import java.text.ParseException;
-import java.util.Locale;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.text.DecimalFormatSymbols;
 
 public final class FunctionsIO {
     private static final Logger logger = LoggerFactory.getLogger(FunctionsIO.class);
 
+    // Заголовок формата для FileChannel (всегда big-endian):
+    // магическое число (int), версия (short), флаги (short), количество точек (long)
+    static final int CHANNEL_MAGIC = 0x54464E42; // "TFNB"
+    static final short CHANNEL_VERSION = 1;
+    static final int CHANNEL_HEADER_SIZE = 16;
+    static final short FLAG_LITTLE_ENDIAN = 1;
+
+    // Размер буфера для пакетной передачи массивов через канал
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 20;
+
     private FunctionsIO() {
         throw new UnsupportedOperationException("Utility class FunctionsIO cannot be instantiated");
     }
@@ -23,39 +35,41 @@ public final class FunctionsIO {
     }
 
     public static void writeTabulatedFunction(BufferedWriter writer, TabulatedFunction function) throws IOException {
-        logger.info("Starting text serialization of function {} with {} points to writer", function.getClass().getSimpleName(), function.getCount());
-
-        PrintWriter printWriter = new PrintWriter(writer);
-        int count = function.getCount();
-        printWriter.println(count);
+        // Тот же вид, что и у printf("%f %f%n"): 6 знаков, разделитель дробной части текущей локали
+        TextTableWriter tableWriter = new TextTableWriter(writer);
+        tableWriter.setPrecision(6);
+        tableWriter.setDecimalSeparator(DecimalFormatSymbols.getInstance().getDecimalSeparator());
+        tableWriter.setLineSeparator(System.lineSeparator());
+        writeTabulatedFunction(tableWriter, function);
+    }
 
-        for (var point : function) {
-            printWriter.printf("%f %f%n", point.x, point.y);
-        }
-        printWriter.flush();
+    /**
+     * Записывает функцию в текстовом виде через настроенный TextTableWriter:
+     * первая строка — количество точек, далее по строке на точку.
+     */
+    public static void writeTabulatedFunction(TextTableWriter writer, TabulatedFunction function) throws IOException {
+        logger.info("Starting text serialization of function {} with {} points to writer", function.getClass().getSimpleName(), function.getCount());
 
-        if (printWriter.checkError()) {
-            logger.error("IO error detected by PrintWriter during write operation for function {}", function.getClass().getSimpleName());
-            throw new IOException("IO error occurred during writing");
+        writer.writeCount(function.getCount());
+        for (Point point : function) {
+            writer.writePoint(point.x, point.y);
         }
-
+        writer.flush();
     }
 
     public static TabulatedFunction readTabulatedFunction(BufferedReader reader, TabulatedFunctionFactory factory) throws IOException {
         logger.info("Starting text deserialization of function from reader using factory {}", factory.getClass().getSimpleName());
-        // Читаем первую строку — количество точек
-        String countLine = reader.readLine();
-        if (countLine == null) {
+        TextTableParser parser = new TextTableParser(reader);
+
+        // Первая строка — количество точек
+        if (parser.atEnd()) {
             logger.error("Unexpected end of stream: missing count line");
             throw new IOException("Unexpected end of stream: missing count line");
         }
-        int count;
-        try {
-            count = Integer.parseInt(countLine.trim());
-        }
-        catch (NumberFormatException e) {
-            logger.error("Invalid count format: ", e);
-            throw new IOException("Invalid count format: " + countLine, e);
+        int count = parser.nextInt();
+        if (!parser.endLine()) {
+            logger.error("Invalid count format at line {}", parser.getLine());
+            throw new IOException("Invalid count format at line " + parser.getLine());
         }
 
         if (count <= 0) {
@@ -67,34 +81,21 @@ public final class FunctionsIO {
         double[] xValues = new double[count];
         double[] yValues = new double[count];
 
-        // Получаем форматтер для чисел с запятой (русская локаль)
-        NumberFormat numberFormat = NumberFormat.getInstance(Locale.forLanguageTag("ru"));
-
-        // Читаем count строк с парами x y
+        // Читаем count строк с парами x y (десятичный разделитель — запятая или точка)
         for (int i = 0; i < count; i++) {
-            String line = reader.readLine();
-            if (line == null) {
-                throw new IOException("Unexpected end of stream at line " + (i + 2));
-            }
-
-            // Разбиваем строку по пробелу
-            String[] parts = line.trim().split(" ");
-            if (parts.length != 2) {
-                throw new IOException("Invalid line format at line " + (i + 2) + ": " + line);
+            if (parser.atEnd()) {
+                throw new IOException("Unexpected end of stream at line " + parser.getLine());
             }
-
-            try {
-                // Парсим числа с запятой как десятичным разделителем
-                xValues[i] = numberFormat.parse(parts[0]).doubleValue();
-                yValues[i] = numberFormat.parse(parts[1]).doubleValue();
-            } catch (ParseException e) {
-                // Оборачиваем ParseException в IOException, как требуется
-                throw new IOException("Failed to parse number at line " + (i + 2) + ": " + line, e);
+            xValues[i] = parser.nextDouble();
+            yValues[i] = parser.nextDouble();
+            if (!parser.endLine()) {
+                throw new IOException("Invalid line format at line " + parser.getLine());
             }
         }
+        parser.finish();
 
         // Создаём и возвращаем функцию через фабрику
-        TabulatedFunction result = factory.create(xValues, yValues);
+        TabulatedFunction result = factory.createOwned(xValues, yValues);
         logger.info("Function {} successfully deserialized from text format using factory {}", result.getClass().getSimpleName(), factory.getClass().getSimpleName());
         return result;
     }
@@ -144,8 +145,251 @@ public final class FunctionsIO {
             xValues[i] = dataIn.readDouble();
             yValues[i] = dataIn.readDouble();
         }
-        TabulatedFunction result = factory.create(xValues, yValues);
+        TabulatedFunction result = factory.createOwned(xValues, yValues);
         logger.info("Function {} successfully deserialized from binary format using factory {}", result.getClass().getSimpleName(), factory.getClass().getSimpleName());
         return result;
     }
+
+    /**
+     * Потоковое чтение текстовой таблицы порциями по chunkSize точек.
+     * Первая строка с одним числом считается количеством точек (как в writeTabulatedFunction),
+     * без неё точки читаются до конца потока. Весь файл в памяти не держится,
+     * поэтому так можно обрабатывать данные из каналов и файлы больше кучи.
+     * Возвращает количество прочитанных точек.
+     */
+    public static long readPoints(BufferedReader reader, int chunkSize, PointChunkConsumer consumer) throws IOException {
+        checkChunkSize(chunkSize);
+        TextTableParser parser = new TextTableParser(reader);
+        double[] xValues = new double[chunkSize];
+        double[] yValues = new double[chunkSize];
+        long limit = Long.MAX_VALUE;
+        long total = 0;
+        int length = 0;
+
+        while (total < limit && !parser.atEnd()) {
+            double x = parser.nextDouble();
+            if (total == 0 && length == 0 && limit == Long.MAX_VALUE && parser.endLine()) {
+                // Строка из одного числа — заголовок с количеством точек
+                if (x != Math.rint(x) || x <= 0) {
+                    throw new IOException("Invalid count format at line " + (parser.getLine() - 1));
+                }
+                limit = (long) x;
+                continue;
+            }
+            xValues[length] = x;
+            yValues[length] = parser.nextDouble();
+            if (!parser.endLine()) {
+                throw new IOException("Invalid line format at line " + parser.getLine());
+            }
+            total++;
+            if (++length == chunkSize) {
+                consumer.accept(xValues, yValues, length);
+                length = 0;
+            }
+        }
+        if (total < limit && limit != Long.MAX_VALUE) {
+            throw new IOException("Unexpected end of stream at line " + parser.getLine());
+        }
+        parser.finish();
+        if (length > 0) {
+            consumer.accept(xValues, yValues, length);
+        }
+        return total;
+    }
+
+    /**
+     * Потоковое чтение бинарных пар (x, y) порциями по chunkSize точек.
+     * counted = true — формат writeTabulatedFunction(BufferedOutputStream, ...) с количеством в начале;
+     * counted = false — пары без заголовка до конца потока.
+     */
+    public static long readPoints(BufferedInputStream inputStream, boolean counted, int chunkSize,
+                                  PointChunkConsumer consumer) throws IOException {
+        checkChunkSize(chunkSize);
+        long limit = Long.MAX_VALUE;
+        if (counted) {
+            limit = new DataInputStream(inputStream).readInt();
+            if (limit < 0) {
+                throw new IOException("Count must be non-negative, got: " + limit);
+            }
+        }
+        double[] xValues = new double[chunkSize];
+        double[] yValues = new double[chunkSize];
+        byte[] bytes = new byte[chunkSize * 2 * Double.BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long total = 0;
+
+        while (total < limit) {
+            int wanted = (int) Math.min(chunkSize, limit - total) * 2 * Double.BYTES;
+            int read = inputStream.readNBytes(bytes, 0, wanted);
+            if (read % (2 * Double.BYTES) != 0 || (counted && read < wanted)) {
+                throw new EOFException("Unexpected end of stream after " + (total + read / (2 * Double.BYTES)) + " points");
+            }
+            int length = read / (2 * Double.BYTES);
+            buffer.clear();
+            for (int i = 0; i < length; i++) {
+                xValues[i] = buffer.getDouble();
+                yValues[i] = buffer.getDouble();
+            }
+            if (length > 0) {
+                consumer.accept(xValues, yValues, length);
+            }
+            total += length;
+            if (read < wanted) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Читает текстовую таблицу с количеством в первой строке или без него,
+     * накапливая точки в растущих массивах, и создаёт функцию фабрикой.
+     */
+    public static TabulatedFunction readTabulatedFunctionStreaming(BufferedReader reader, TabulatedFunctionFactory factory)
+            throws IOException {
+        TabulatedFunctionBuilder builder = new TabulatedFunctionBuilder();
+        readPoints(reader, 4096, PointChunkConsumer.into(builder));
+        return builder.build(factory);
+    }
+
+    private static void checkChunkSize(int chunkSize) {
+        if (chunkSize < 1 || chunkSize > (1 << 24)) {
+            throw new IllegalArgumentException("Chunk size must be in [1, 2^24], got: " + chunkSize);
+        }
+    }
+
+    /**
+     * Записывает функцию в канал в формате с заголовком: после заголовка идут все x, затем все y.
+     * Массивы передаются целиком блоками через DoubleBuffer-представление буфера,
+     * без поточечной записи. Порядок байтов данных задаётся параметром order и сохраняется в заголовке.
+     */
+    public static void writeTabulatedFunction(FileChannel channel, TabulatedFunction function, ByteOrder order)
+            throws IOException {
+        logger.info("Starting channel serialization of function {} with {} points", function.getClass().getSimpleName(), function.getCount());
+        int count = function.getCount();
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        TabulatedFunctionOperationService.toArrays(function, xValues, yValues);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        writeChannelHeader(buffer, count, order);
+        buffer.flip();
+        writeFully(channel, buffer);
+
+        writeDoubles(channel, buffer, xValues, order);
+        writeDoubles(channel, buffer, yValues, order);
+        logger.info("Function {} successfully written to channel", function.getClass().getSimpleName());
+    }
+
+    // Запись в канал в собственном порядке байтов платформы — без перестановки байтов
+    public static void writeTabulatedFunction(FileChannel channel, TabulatedFunction function) throws IOException {
+        writeTabulatedFunction(channel, function, ByteOrder.nativeOrder());
+    }
+
+    public static TabulatedFunction readTabulatedFunction(FileChannel channel, TabulatedFunctionFactory factory)
+            throws IOException {
+        logger.info("Starting channel deserialization of function using factory {}", factory.getClass().getSimpleName());
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        buffer.limit(CHANNEL_HEADER_SIZE);
+        readFully(channel, buffer);
+        buffer.flip();
+        ByteOrder order = readChannelHeader(buffer);
+        int count = (int) buffer.getLong();
+        checkChannelData(count, channel.size() - channel.position());
+
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        readDoubles(channel, buffer, xValues, order);
+        readDoubles(channel, buffer, yValues, order);
+
+        TabulatedFunction result = factory.createOwned(xValues, yValues);
+        logger.info("Function {} successfully read from channel using factory {}", result.getClass().getSimpleName(), factory.getClass().getSimpleName());
+        return result;
+    }
+
+    // Кладёт заголовок в буфер; после вызова буфер в режиме записи
+    static void writeChannelHeader(ByteBuffer buffer, long count, ByteOrder order) {
+        buffer.clear();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(CHANNEL_MAGIC);
+        buffer.putShort(CHANNEL_VERSION);
+        buffer.putShort(order == ByteOrder.LITTLE_ENDIAN ? FLAG_LITTLE_ENDIAN : 0);
+        buffer.putLong(count);
+    }
+
+    /**
+     * Проверяет магическое число и версию, возвращает порядок байтов данных.
+     * После вызова позиция буфера стоит на количестве точек (long).
+     */
+    static ByteOrder readChannelHeader(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        int magic = buffer.getInt();
+        if (magic != CHANNEL_MAGIC) {
+            logger.error("Invalid channel format magic: {}", Integer.toHexString(magic));
+            throw new IOException("Invalid format: bad magic number " + Integer.toHexString(magic));
+        }
+        short version = buffer.getShort();
+        if (version != CHANNEL_VERSION) {
+            throw new IOException("Unsupported format version: " + version);
+        }
+        short flags = buffer.getShort();
+        long count = buffer.getLong(buffer.position());
+        if (count < 2 || count > Integer.MAX_VALUE) {
+            throw new IOException("Invalid point count: " + count);
+        }
+        return (flags & FLAG_LITTLE_ENDIAN) != 0 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    }
+
+    /**
+     * Проверяет, что после заголовка хватает байтов на count пар (x, y), до выделения массивов:
+     * повреждённый заголовок иначе приводит к попытке выделить гигабайты памяти.
+     */
+    static void checkChannelData(long count, long available) throws IOException {
+        long required = 2L * Double.BYTES * count;
+        if (required > available) {
+            logger.error("Channel data is truncated: {} points need {} bytes, {} available", count, required, available);
+            throw new IOException("Truncated or corrupted data: " + count + " points need " + required
+                    + " bytes, only " + available + " available");
+        }
+    }
+
+    static void writeDoubles(FileChannel channel, ByteBuffer buffer, double[] values, ByteOrder order)
+            throws IOException {
+        int perBuffer = buffer.capacity() / Double.BYTES;
+        for (int from = 0; from < values.length; from += perBuffer) {
+            int length = Math.min(perBuffer, values.length - from);
+            buffer.clear();
+            buffer.order(order).asDoubleBuffer().put(values, from, length);
+            buffer.limit(length * Double.BYTES);
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void readDoubles(FileChannel channel, ByteBuffer buffer, double[] values, ByteOrder order)
+            throws IOException {
+        int perBuffer = buffer.capacity() / Double.BYTES;
+        for (int from = 0; from < values.length; from += perBuffer) {
+            int length = Math.min(perBuffer, values.length - from);
+            buffer.clear();
+            buffer.limit(length * Double.BYTES);
+            readFully(channel, buffer);
+            buffer.flip();
+            buffer.order(order).asDoubleBuffer().get(values, from, length);
+        }
+    }
+
+    static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                logger.error("Unexpected end of channel");
+                throw new EOFException("Unexpected end of channel");
+            }
+        }
+    }
 }
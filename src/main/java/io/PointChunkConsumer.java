@@ -0,0 +1,25 @@
+package io;
+
+import functions.Insertable;
+
+/**
+ * Получатель точек, читаемых потоково.
+ * Массивы переиспользуются читателем между вызовами: действительны только первые length элементов
+ * и только до возврата из accept.
+ */
+@FunctionalInterface
+public interface PointChunkConsumer {
+    void accept(double[] xValues, double[] yValues, int length) throws java.io.IOException;
+
+    // Передаёт каждую точку в insert()
+    static PointChunkConsumer into(Insertable target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target must not be null");
+        }
+        return (xValues, yValues, length) -> {
+            for (int i = 0; i < length; i++) {
+                target.insert(xValues[i], yValues[i]);
+            }
+        };
+    }
+}
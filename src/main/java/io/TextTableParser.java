@@ -0,0 +1,248 @@
+package io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Потоковый разборщик текстовых таблиц вида
+ *      count
+ *      x y
+ *      ...
+ * Читает символы блоками в собственный буфер и разбирает числа без создания строк на каждую строку.
+ * Десятичным разделителем может быть как запятая, так и точка; числа в строке разделяются
+ * пробелами, табуляциями или точкой с запятой.
+ *
+ * Лишние прочитанные символы возвращаются в BufferedReader через mark/reset в finish(),
+ * поэтому из одного reader можно последовательно читать несколько таблиц.
+ */
+final class TextTableParser {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Степени десяти, точно представимые в double
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final BufferedReader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int line = 1;
+
+    // Символы текущего числа — для сообщений об ошибках и для медленного пути через Double.parseDouble
+    private final StringBuilder token = new StringBuilder(32);
+
+    TextTableParser(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    int getLine() {
+        return line;
+    }
+
+    // Следующий символ без продвижения, -1 в конце потока
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        reader.mark(BUFFER_SIZE);
+        int read = reader.read(buffer, 0, BUFFER_SIZE);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private static boolean isSeparator(int c) {
+        return c == ' ' || c == '\t' || c == ';';
+    }
+
+    private void skipSeparators() throws IOException {
+        int c;
+        while ((c = peek()) != -1 && isSeparator(c)) {
+            position++;
+        }
+    }
+
+    /**
+     * Пропускает хвостовые разделители и перевод строки ("\n" или "\r\n").
+     * Возвращает false, если в строке остались посторонние символы.
+     */
+    boolean endLine() throws IOException {
+        skipSeparators();
+        int c = peek();
+        if (c == '\r') {
+            position++;
+            c = peek();
+        }
+        if (c == '\n') {
+            position++;
+            line++;
+            return true;
+        }
+        return c == -1;
+    }
+
+    // true, если поток закончился (с учётом пустых строк в конце)
+    boolean atEnd() throws IOException {
+        int c;
+        while ((c = peek()) != -1) {
+            if (isSeparator(c) || c == '\r') {
+                position++;
+            } else if (c == '\n') {
+                position++;
+                line++;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Возвращает в reader символы, прочитанные в буфер сверх разобранных
+    void finish() throws IOException {
+        if (limit > 0) {
+            reader.reset();
+            reader.skip(position);
+            position = 0;
+            limit = 0;
+        }
+    }
+
+    int nextInt() throws IOException {
+        skipSeparators();
+        token.setLength(0);
+        long value = 0;
+        boolean negative = false;
+        int c = peek();
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            token.append((char) c);
+            position++;
+        }
+        int digits = 0;
+        while ((c = peek()) >= '0' && c <= '9') {
+            token.append((char) c);
+            value = value * 10 + (c - '0');
+            position++;
+            if (++digits > 10) {
+                throw new IOException("Integer too large at line " + line + ": " + token);
+            }
+        }
+        if (digits == 0) {
+            throw new IOException("Expected integer at line " + line);
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IOException("Integer too large at line " + line + ": " + token);
+        }
+        return (int) value;
+    }
+
+    double nextDouble() throws IOException {
+        skipSeparators();
+        token.setLength(0);
+
+        int c = peek();
+        boolean negative = false;
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            token.append((char) c);
+            position++;
+            c = peek();
+        }
+        if (Character.isLetter(c)) {
+            // NaN, Infinity — редкий случай, разбирается стандартным методом
+            return parseWord();
+        }
+
+        long mantissa = 0;
+        int significant = 0;   // значащие цифры, вошедшие в mantissa
+        int exponent = 0;      // десятичный порядок, на который нужно умножить mantissa
+        int digits = 0;
+        boolean fraction = false;
+        while (true) {
+            c = peek();
+            if (c >= '0' && c <= '9') {
+                token.append((char) c);
+                digits++;
+                if (significant < 19) {
+                    if (mantissa != 0 || c != '0') {
+                        mantissa = mantissa * 10 + (c - '0');
+                        significant++;
+                    }
+                    if (fraction) {
+                        exponent--;
+                    }
+                } else if (!fraction) {
+                    exponent++;
+                }
+            } else if ((c == '.' || c == ',') && !fraction) {
+                token.append('.');
+                fraction = true;
+            } else {
+                break;
+            }
+            position++;
+        }
+        if (digits == 0) {
+            throw new IOException("Expected number at line " + line + (token.length() > 0 ? ": " + token : ""));
+        }
+
+        if (c == 'e' || c == 'E') {
+            token.append('e');
+            position++;
+            c = peek();
+            boolean negativeExponent = false;
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                token.append((char) c);
+                position++;
+            }
+            int value = 0;
+            int exponentDigits = 0;
+            while ((c = peek()) >= '0' && c <= '9') {
+                token.append((char) c);
+                if (value < 100_000) {
+                    value = value * 10 + (c - '0');
+                }
+                exponentDigits++;
+                position++;
+            }
+            if (exponentDigits == 0) {
+                throw new IOException("Invalid exponent at line " + line + ": " + token);
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+
+        double result;
+        if (mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+            // Быстрый путь: мантисса и степень десяти точны, одно умножение/деление округляется корректно
+            result = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -result : result;
+        }
+        try {
+            return Double.parseDouble(token.toString());
+        } catch (NumberFormatException e) {
+            throw new IOException("Failed to parse number at line " + line + ": " + token, e);
+        }
+    }
+
+    private double parseWord() throws IOException {
+        int c;
+        while (Character.isLetter(c = peek())) {
+            token.append((char) c);
+            position++;
+        }
+        try {
+            return Double.parseDouble(token.toString());
+        } catch (NumberFormatException e) {
+            throw new IOException("Failed to parse number at line " + line + ": " + token, e);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Запись текстовых таблиц без printf: числа форматируются прямо в буфер символов,
+ * который сбрасывается в Writer по заполнении.
+ *
+ * precision < 0 — кратчайшая запись, при чтении дающая то же самое double;
+ * precision >= 0 — фиксированное число знаков после разделителя (аналог "%.{precision}f").
+ * Символы десятичного разделителя, разделителя столбцов и перевода строки настраиваются.
+ */
+public class TextTableWriter {
+
+    public static final int SHORTEST = -1;
+
+    private static final int BUFFER_SIZE = 8192;
+    // Запас под одно число или разделитель; более длинные записи идут через writeString()
+    private static final int MAX_NUMBER_LENGTH = 64;
+    // Наибольшее целое, до которого все целые точно представимы в double
+    private static final double EXACT_LIMIT = 1L << 53;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Writer writer;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+
+    private int precision = SHORTEST;
+    private char decimalSeparator = '.';
+    private char columnSeparator = ' ';
+    private String lineSeparator = "\n";
+
+    public TextTableWriter(Writer writer) {
+        if (writer == null) {
+            throw new IllegalArgumentException("Writer must not be null");
+        }
+        this.writer = writer;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(int precision) {
+        if (precision < SHORTEST || precision > 17) {
+            throw new IllegalArgumentException("Precision must be in [-1, 17], got: " + precision);
+        }
+        this.precision = precision;
+    }
+
+    public char getDecimalSeparator() {
+        return decimalSeparator;
+    }
+
+    public void setDecimalSeparator(char decimalSeparator) {
+        this.decimalSeparator = decimalSeparator;
+    }
+
+    public char getColumnSeparator() {
+        return columnSeparator;
+    }
+
+    public void setColumnSeparator(char columnSeparator) {
+        this.columnSeparator = columnSeparator;
+    }
+
+    public String getLineSeparator() {
+        return lineSeparator;
+    }
+
+    public void setLineSeparator(String lineSeparator) {
+        if (lineSeparator == null || lineSeparator.isEmpty() || lineSeparator.length() > 8) {
+            throw new IllegalArgumentException("Invalid line separator");
+        }
+        this.lineSeparator = lineSeparator;
+    }
+
+    public void writeCount(int count) throws IOException {
+        ensureCapacity();
+        writeLong(count);
+        writeLineSeparator();
+    }
+
+    public void writePoint(double x, double y) throws IOException {
+        writeDouble(x);
+        ensureCapacity();
+        buffer[position++] = columnSeparator;
+        writeDouble(y);
+        writeLineSeparator();
+    }
+
+    public void flush() throws IOException {
+        flushBuffer();
+        writer.flush();
+    }
+
+    private void ensureCapacity() throws IOException {
+        if (BUFFER_SIZE - position < MAX_NUMBER_LENGTH) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        writer.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private void writeLineSeparator() throws IOException {
+        ensureCapacity();
+        for (int i = 0; i < lineSeparator.length(); i++) {
+            buffer[position++] = lineSeparator.charAt(i);
+        }
+    }
+
+    private void writeDouble(double value) throws IOException {
+        ensureCapacity();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writeString(Double.toString(value));
+            return;
+        }
+        boolean negative = Double.doubleToRawLongBits(value) < 0;
+        double abs = Math.abs(value);
+        if (precision >= 0) {
+            writeFixed(negative, abs);
+        } else {
+            writeShortest(negative, abs);
+        }
+    }
+
+    /**
+     * Фиксированное число знаков: точное значение double округляется половиной вверх.
+     * Произведение abs * 10^p раскладывается в hi + lo (lo — ошибка округления, найденная через fma),
+     * поэтому решение об округлении принимается по точному произведению.
+     * В отличие от Formatter, округляется сам double, а не его кратчайшая десятичная запись
+     * (1.005 — это 1.00499999..., и при двух знаках получится 1.00).
+     */
+    private void writeFixed(boolean negative, double abs) throws IOException {
+        double power = POWERS_OF_TEN[precision];
+        double hi = abs * power;
+        if (hi < EXACT_LIMIT / 2) {
+            double lo = Math.fma(abs, power, -hi);
+            double integer = Math.floor(hi);
+            double fraction = hi - integer;
+            boolean roundUp = fraction == 0.5 ? lo >= 0 : fraction + lo >= 0.5;
+            if (negative) {
+                buffer[position++] = '-';
+            }
+            writeScaled((long) integer + (roundUp ? 1 : 0), precision);
+        } else {
+            BigDecimal decimal = new BigDecimal(abs).setScale(precision, RoundingMode.HALF_UP);
+            writeString((negative ? "-" : "") + decimal.toPlainString().replace('.', decimalSeparator));
+        }
+    }
+
+    /**
+     * Ищет наименьшее число знаков p после разделителя, при котором round(abs * 10^p) / 10^p
+     * снова даёт abs. Пока мантисса меньше 2^53, а p ≤ 22, деление округляется корректно,
+     * так что проверка точна. Остальные числа пишутся через Double.toString.
+     */
+    private void writeShortest(boolean negative, double abs) throws IOException {
+        if (abs == 0.0 || (abs >= 1e-4 && abs < 1e15)) {
+            for (int p = 0; p <= 17; p++) {
+                double scaled = Math.rint(abs * POWERS_OF_TEN[p]);
+                if (scaled >= EXACT_LIMIT) {
+                    break;
+                }
+                if (scaled / POWERS_OF_TEN[p] == abs) {
+                    if (negative) {
+                        buffer[position++] = '-';
+                    }
+                    // Целые числа пишутся как "5.0", как и в Double.toString
+                    writeScaled(p == 0 ? (long) scaled * 10 : (long) scaled, Math.max(p, 1));
+                    return;
+                }
+            }
+        }
+        String text = Double.toString(negative ? -abs : abs);
+        writeString(decimalSeparator == '.' ? text : text.replace('.', decimalSeparator));
+    }
+
+    // Пишет scaled / 10^fractionDigits с ровно fractionDigits знаками после разделителя
+    private void writeScaled(long scaled, int fractionDigits) {
+        long integer = scaled;
+        long fraction = 0;
+        if (fractionDigits > 0) {
+            long divisor = (long) POWERS_OF_TEN[fractionDigits];
+            integer = scaled / divisor;
+            fraction = scaled % divisor;
+        }
+        writeLong(integer);
+        if (fractionDigits > 0) {
+            buffer[position++] = decimalSeparator;
+            int end = position + fractionDigits;
+            for (int i = end - 1; i >= position; i--) {
+                buffer[i] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            position = end;
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int start = position;
+        do {
+            buffer[position++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // Цифры записаны в обратном порядке
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            char tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    private void writeString(String text) throws IOException {
+        if (position + text.length() > BUFFER_SIZE - MAX_NUMBER_LENGTH) {
+            flushBuffer();
+            if (text.length() > BUFFER_SIZE - MAX_NUMBER_LENGTH) {
+                writer.write(text);
+                return;
+            }
+        }
+        text.getChars(0, text.length(), buffer, position);
+        position += text.length();
+    }
+}
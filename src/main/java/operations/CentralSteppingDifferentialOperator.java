@@ -0,0 +1,30 @@
+package operations;
+
+import functions.MathFunction;
+
+public class CentralSteppingDifferentialOperator extends SteppingDifferentialOperator {
+
+    public CentralSteppingDifferentialOperator(double step1) {
+        super(step1);
+    }
+
+    // Без шага — шаг подбирается автоматически для каждого x
+    public CentralSteppingDifferentialOperator() {
+        super();
+        this.adaptiveStep = true;
+    }
+
+    @Override
+    public MathFunction derive(MathFunction function) {
+        MathFunction source = cached(function);
+        return new MathFunction() {
+            @Override
+            public double apply(double x) {
+                // Центральная разностная производная (второй порядок точности):
+                // f'(x) ≈ (f(x + h) - f(x - h)) / 2h
+                double h = adaptiveStep ? adaptiveStep(x, 2) : step;
+                return (source.apply(x + h) - source.apply(x - h)) / (2 * h);
+            }
+        };
+    }
+}
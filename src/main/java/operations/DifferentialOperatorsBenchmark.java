@@ -0,0 +1,58 @@
+package operations;
+
+import functions.MathFunction;
+
+/**
+ * Сравнение точности разностных операторов в зависимости от числа вычислений исходной функции.
+ * Дифференцируется f(x) = exp(x) * sin(x) в 1000 точках отрезка [0, 2];
+ * выводится максимальная абсолютная погрешность и число обращений к f.
+ */
+public class DifferentialOperatorsBenchmark {
+
+    private static final int POINTS = 1000;
+
+    // Функция, считающая количество своих вызовов
+    private static class CountingFunction implements MathFunction {
+        long calls = 0;
+
+        @Override
+        public double apply(double x) {
+            calls++;
+            return Math.exp(x) * Math.sin(x);
+        }
+    }
+
+    private static double exactDerivative(double x) {
+        return Math.exp(x) * (Math.sin(x) + Math.cos(x));
+    }
+
+    private static void measure(String name, SteppingDifferentialOperator operator) {
+        CountingFunction f = new CountingFunction();
+        MathFunction derivative = operator.derive(f);
+        double maxError = 0.0;
+        long start = System.nanoTime();
+        for (int i = 0; i < POINTS; i++) {
+            double x = 2.0 * i / (POINTS - 1);
+            maxError = Math.max(maxError, Math.abs(derivative.apply(x) - exactDerivative(x)));
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+        String step = operator.isAdaptiveStep() ? "adaptive" : String.valueOf(operator.getStep());
+        System.out.printf("%-12s | %-9s | %10.3e | %8d | %8d%n", name, step, maxError, f.calls, micros);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Оператор     | Шаг       | Погрешность | Вызовы f | Время, мкс");
+        System.out.println("-----------------------------------------------------------------");
+        for (double h : new double[]{1e-2, 1e-4, 1e-6, 1e-8}) {
+            measure("left", new LeftSteppingDifferentialOperator(h));
+        }
+        for (double h : new double[]{1e-2, 1e-4, 1e-6}) {
+            measure("central", new CentralSteppingDifferentialOperator(h));
+        }
+        measure("central", new CentralSteppingDifferentialOperator());
+        for (double h : new double[]{1e-1, 1e-2, 1e-3}) {
+            measure("richardson", new RichardsonSteppingDifferentialOperator(h));
+        }
+        measure("richardson", new RichardsonSteppingDifferentialOperator());
+    }
+}
@@ -0,0 +1,93 @@
+package operations;
+
+import functions.MathFunction;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Кэш значений функции для разностных операторов.
+ * Ключи — примитивные double, хранятся в массивах фиксированного размера (прямое отображение):
+ * ячейка выбирается по квантованному x, при коллизии старое значение вытесняется новым.
+ *
+ * Точки x и x ± h на сетке с шагом h совпадают с соседними узлами лишь с точностью до
+ * округления, поэтому ключи сравниваются с допуском tolerance, а не на точное равенство.
+ * Допуск может задаваться функцией и тогда читается при каждом вызове (он зависит от текущего шага
+ * оператора); пока он не положителен, кэш не используется.
+ */
+final class EvaluationCache implements MathFunction {
+
+    private final MathFunction function;
+    private final DoubleSupplier tolerance;
+    private final int mask;
+
+    private final double[] keys;
+    private final double[] values;
+    private final boolean[] used;
+
+    private long hits;
+    private long misses;
+
+    // capacity округляется вверх до степени двойки
+    EvaluationCache(MathFunction function, int capacity, double tolerance) {
+        this(function, capacity, checkTolerance(tolerance));
+    }
+
+    EvaluationCache(MathFunction function, int capacity, DoubleSupplier tolerance) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, got: " + capacity);
+        }
+        if (tolerance == null) {
+            throw new IllegalArgumentException("Tolerance must not be null");
+        }
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.function = function;
+        this.tolerance = tolerance;
+        this.mask = size - 1;
+        this.keys = new double[size];
+        this.values = new double[size];
+        this.used = new boolean[size];
+    }
+
+    private static DoubleSupplier checkTolerance(double tolerance) {
+        if (!(tolerance > 0) || Double.isInfinite(tolerance)) {
+            throw new IllegalArgumentException("Invalid tolerance: " + tolerance);
+        }
+        return () -> tolerance;
+    }
+
+    @Override
+    public double apply(double x) {
+        double tolerance = this.tolerance.getAsDouble();
+        if (!(tolerance > 0) || Double.isInfinite(tolerance)) {
+            return function.apply(x);
+        }
+        int slot = slot(x, tolerance);
+        if (used[slot] && Math.abs(keys[slot] - x) <= tolerance) {
+            hits++;
+            return values[slot];
+        }
+        misses++;
+        double y = function.apply(x);
+        keys[slot] = x;
+        values[slot] = y;
+        used[slot] = true;
+        return y;
+    }
+
+    private int slot(double x, double tolerance) {
+        // Мультипликативное хеширование номера кванта
+        long quantum = Math.round(x / tolerance);
+        return (int) ((quantum * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,288 @@
+package operations;
+
+import functions.MathFunction;
+import functions.TabulatedFunction;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.TabulatedFunctionFactory;
+
+import java.util.stream.IntStream;
+
+/**
+ * Численное интегрирование.
+ * Для табулированных функций — составные формулы трапеций и Симпсона на (в общем случае
+ * неравномерной) сетке узлов таблицы, для MathFunction — адаптивная квадратура Гаусса–Кронрода (7–15).
+ * Кумулятивный режим строит первообразную F(x_i) = ∫_{x_0}^{x_i} f(x) dx как табулированную функцию.
+ */
+public class IntegralOperator {
+
+    public enum Method {
+        // Формула трапеций, второй порядок точности
+        TRAPEZOID,
+        // Формула Симпсона для пар отрезков неравномерной сетки; при нечётном числе отрезков
+        // последний интегрируется параболой по трём последним узлам
+        SIMPSON
+    }
+
+    // Минимальное число отрезков на одну параллельную задачу
+    private static final int PARALLEL_CHUNK = 1 << 14;
+    // Максимальная глубина деления отрезка в адаптивной квадратуре
+    private static final int MAX_DEPTH = 30;
+
+    // Узлы и веса правила Кронрода (15 точек) на [-1, 1]; узлы с нечётными индексами — узлы Гаусса (7 точек)
+    private static final double[] XGK = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.000000000000000000000000000000000
+    };
+    private static final double[] WGK = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+    };
+    private static final double[] WG = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+    };
+
+    private TabulatedFunctionFactory factory;
+    private Method method = Method.TRAPEZOID;
+    private double tolerance = 1e-10;
+    private boolean parallel;
+
+    // Конструктор без аргументов — по умолчанию ArrayTabulatedFunctionFactory
+    public IntegralOperator() {
+        this.factory = new ArrayTabulatedFunctionFactory();
+    }
+
+    public IntegralOperator(TabulatedFunctionFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        this.factory = factory;
+    }
+
+    public TabulatedFunctionFactory getFactory() {
+        return factory;
+    }
+
+    public void setFactory(TabulatedFunctionFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        this.factory = factory;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public void setMethod(Method method) {
+        if (method == null) {
+            throw new IllegalArgumentException("Method must not be null");
+        }
+        this.method = method;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    // Допустимая абсолютная погрешность для адаптивной квадратуры
+    public void setTolerance(double tolerance) {
+        if (!(tolerance > 0) || Double.isInfinite(tolerance)) {
+            throw new IllegalArgumentException("Invalid tolerance: " + tolerance);
+        }
+        this.tolerance = tolerance;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    // Разбивать большие таблицы на участки и обрабатывать их в общем ForkJoinPool
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Интеграл табулированной функции по всей области определения [leftBound, rightBound].
+     */
+    public double integrate(TabulatedFunction function) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        int n = function.getCount();
+        double[] xValues = new double[n];
+        double[] yValues = new double[n];
+        TabulatedFunctionOperationService.toArrays(function, xValues, yValues);
+
+        int chunks = chunkCount(n);
+        if (chunks == 1) {
+            return integrateRange(xValues, yValues, 0, n - 1, method);
+        }
+        int size = chunkSize(n, chunks);
+        return IntStream.range(0, (n - 1 + size - 1) / size).parallel()
+                .mapToDouble(c -> integrateRange(xValues, yValues, c * size, Math.min((c + 1) * size, n - 1), method))
+                .sum();
+    }
+
+    /**
+     * Первообразная табулированной функции: F(x_0) = 0, F(x_i) = ∫_{x_0}^{x_i} f(x) dx.
+     * Результат создаётся фабрикой на тех же узлах.
+     */
+    public TabulatedFunction cumulative(TabulatedFunction function) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        int n = function.getCount();
+        double[] xValues = new double[n];
+        double[] yValues = new double[n];
+        TabulatedFunctionOperationService.toArrays(function, xValues, yValues);
+        double[] result = new double[n];
+
+        int chunks = chunkCount(n);
+        if (chunks == 1) {
+            // result[0] = 0 — первообразная отсчитывается от левой границы
+            cumulativeRange(xValues, yValues, 0, n - 1, result, 0.0, method);
+        } else {
+            // Два прохода: сначала интегралы по участкам, затем сами участки со смещением на сумму предыдущих
+            int size = chunkSize(n, chunks);
+            chunks = (n - 1 + size - 1) / size;
+            double[] offsets = new double[chunks];
+            IntStream.range(0, chunks).parallel().forEach(c ->
+                    offsets[c] = integrateRange(xValues, yValues, c * size, Math.min((c + 1) * size, n - 1), method));
+            double sum = 0.0;
+            for (int c = 0; c < chunks; c++) {
+                double total = offsets[c];
+                offsets[c] = sum;
+                sum += total;
+            }
+            IntStream.range(0, chunks).parallel().forEach(c ->
+                    cumulativeRange(xValues, yValues, c * size, Math.min((c + 1) * size, n - 1), result, offsets[c], method));
+        }
+        return factory.create(xValues, result);
+    }
+
+    /**
+     * Интеграл функции по отрезку [a, b] адаптивной квадратурой Гаусса–Кронрода:
+     * отрезок делится пополам, пока оценка погрешности |K15 - G7| больше допуска.
+     */
+    public double integrate(MathFunction function, double a, double b) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (Double.isNaN(a) || Double.isNaN(b) || Double.isInfinite(a) || Double.isInfinite(b)) {
+            throw new IllegalArgumentException("Bounds must be finite");
+        }
+        if (a == b) {
+            return 0.0;
+        }
+        if (a > b) {
+            return -integrate(function, b, a);
+        }
+        return adaptive(function, a, b, tolerance, 0);
+    }
+
+    private static double adaptive(MathFunction function, double a, double b, double tolerance, int depth) {
+        double center = 0.5 * (a + b);
+        double halfLength = 0.5 * (b - a);
+
+        double fc = function.apply(center);
+        double kronrod = fc * WGK[7];
+        double gauss = fc * WG[3];
+        for (int j = 0; j < 7; j++) {
+            double dx = halfLength * XGK[j];
+            double sum = function.apply(center - dx) + function.apply(center + dx);
+            kronrod += WGK[j] * sum;
+            if ((j & 1) == 1) {
+                gauss += WG[j / 2] * sum;
+            }
+        }
+        kronrod *= halfLength;
+        gauss *= halfLength;
+
+        // Разница на уровне ошибок округления дальнейшим делением не уменьшится
+        double error = Math.abs(kronrod - gauss);
+        if (error <= tolerance || error <= 50 * Math.ulp(Math.abs(kronrod)) || depth >= MAX_DEPTH) {
+            return kronrod;
+        }
+        return adaptive(function, a, center, tolerance / 2, depth + 1)
+                + adaptive(function, center, b, tolerance / 2, depth + 1);
+    }
+
+    private int chunkCount(int n) {
+        if (!parallel || n <= 2 * PARALLEL_CHUNK) {
+            return 1;
+        }
+        return Math.min((n - 1) / PARALLEL_CHUNK, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    // Размер участка чётный, чтобы пары отрезков Симпсона не разрывались
+    private static int chunkSize(int n, int chunks) {
+        int size = (n - 1 + chunks - 1) / chunks;
+        return size + (size & 1);
+    }
+
+    // Интеграл по [x[from], x[to]]
+    static double integrateRange(double[] x, double[] y, int from, int to, Method method) {
+        double sum = 0.0;
+        int i = from;
+        if (method == Method.SIMPSON) {
+            for (; i + 2 <= to; i += 2) {
+                sum += parabolaLeft(x, y, i) + parabolaRight(x, y, i);
+            }
+        }
+        for (; i < to; i++) {
+            sum += lastInterval(x, y, i, method);
+        }
+        return sum;
+    }
+
+    // Заполняет result[from + 1..to], считая значение в x[from] равным start
+    static void cumulativeRange(double[] x, double[] y, int from, int to, double[] result, double start, Method method) {
+        double sum = start;
+        int i = from;
+        if (method == Method.SIMPSON) {
+            for (; i + 2 <= to; i += 2) {
+                double left = parabolaLeft(x, y, i);
+                result[i + 1] = sum + left;
+                sum += left + parabolaRight(x, y, i);
+                result[i + 2] = sum;
+            }
+        }
+        for (; i < to; i++) {
+            sum += lastInterval(x, y, i, method);
+            result[i + 1] = sum;
+        }
+    }
+
+    // Отрезок [x[i], x[i + 1]], не вошедший в пару Симпсона
+    private static double lastInterval(double[] x, double[] y, int i, Method method) {
+        if (method == Method.SIMPSON && i >= 1) {
+            return parabolaRight(x, y, i - 1);
+        }
+        return 0.5 * (x[i + 1] - x[i]) * (y[i] + y[i + 1]);
+    }
+
+    // Интеграл параболы через узлы i, i+1, i+2 по [x[i], x[i + 1]]
+    private static double parabolaLeft(double[] x, double[] y, int i) {
+        double h1 = x[i + 1] - x[i];
+        double h2 = x[i + 2] - x[i + 1];
+        double s = h1 + h2;
+        return h1 / 6 * (y[i] * (2 * h1 + 3 * h2) / s
+                + y[i + 1] * (h1 + 3 * h2) / h2
+                - y[i + 2] * h1 * h1 / (h2 * s));
+    }
+
+    // Интеграл параболы через узлы i, i+1, i+2 по [x[i + 1], x[i + 2]]
+    private static double parabolaRight(double[] x, double[] y, int i) {
+        double h1 = x[i + 1] - x[i];
+        double h2 = x[i + 2] - x[i + 1];
+        double s = h1 + h2;
+        return h2 / 6 * (y[i + 2] * (2 * h2 + 3 * h1) / s
+                + y[i + 1] * (h2 + 3 * h1) / h1
+                - y[i] * h2 * h2 / (h1 * s));
+    }
+}
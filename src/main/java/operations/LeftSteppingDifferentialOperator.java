@@ -14,13 +14,14 @@ public class LeftSteppingDifferentialOperator extends SteppingDifferentialOperat
 
     @Override
     public MathFunction derive(MathFunction function) {
+        MathFunction source = cached(function);
         return new MathFunction() {
             @Override
             public double apply(double x) {
                 // Левая разностная производная:
                 // f'(x) ≈ (f(x) - f(x - h)) / h
-                double h = step;
-                return (function.apply(x) - function.apply(x - h)) / h;
+                double h = adaptiveStep ? adaptiveStep(x, 1) : step;
+                return (source.apply(x) - source.apply(x - h)) / h;
             }
         };
     }
@@ -0,0 +1,38 @@
+package operations;
+
+import functions.MathFunction;
+
+/**
+ * Экстраполяция Ричардсона для центральной разностной производной:
+ *   D(h) = (f(x + h) - f(x - h)) / 2h,
+ *   f'(x) ≈ (4 * D(h / 2) - D(h)) / 3.
+ * Погрешность O(h^4) за 4 вычисления функции, поэтому можно брать заметно больший шаг,
+ * чем у левой и правой разностей, и меньше страдать от ошибок округления.
+ */
+public class RichardsonSteppingDifferentialOperator extends SteppingDifferentialOperator {
+
+    public RichardsonSteppingDifferentialOperator(double step1) {
+        super(step1);
+    }
+
+    // Без шага — шаг подбирается автоматически для каждого x
+    public RichardsonSteppingDifferentialOperator() {
+        super();
+        this.adaptiveStep = true;
+    }
+
+    @Override
+    public MathFunction derive(MathFunction function) {
+        MathFunction source = cached(function);
+        return new MathFunction() {
+            @Override
+            public double apply(double x) {
+                double h = adaptiveStep ? adaptiveStep(x, 4) : step;
+                double half = h / 2;
+                double coarse = (source.apply(x + h) - source.apply(x - h)) / (2 * h);
+                double fine = (source.apply(x + half) - source.apply(x - half)) / h;
+                return (4 * fine - coarse) / 3;
+            }
+        };
+    }
+}
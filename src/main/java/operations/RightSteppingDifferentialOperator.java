@@ -10,13 +10,14 @@ public class RightSteppingDifferentialOperator extends SteppingDifferentialOpera
 
     @Override
     public MathFunction derive(MathFunction function) {
+        MathFunction source = cached(function);
         return new MathFunction() {
             @Override
             public double apply(double x) {
                 // Правая разностная производная:
-                // f'(x) ≈ (f(x) - f(x - h)) / h
-                double h = step;
-                return (function.apply(x) - function.apply(x + h)) / h;
+                // f'(x) ≈ (f(x + h) - f(x)) / h
+                double h = adaptiveStep ? adaptiveStep(x, 1) : step;
+                return (source.apply(x + h) - source.apply(x)) / h;
             }
         };
     }
@@ -6,6 +6,12 @@ public abstract class SteppingDifferentialOperator implements DifferentialOperat
 
     protected double step;
 
+    // Размер кэша значений исходной функции (0 — кэш выключен)
+    protected int cacheSize;
+
+    // Выбирать шаг автоматически в зависимости от x вместо фиксированного step
+    protected boolean adaptiveStep;
+
     public SteppingDifferentialOperator(double step1) {
         if (Double.isNaN(step1) || Double.isInfinite(step1) || step1 <= 0) {
             throw new IllegalArgumentException();
@@ -27,4 +33,59 @@ public abstract class SteppingDifferentialOperator implements DifferentialOperat
         }
         this.step = step2;
     }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Включает кэширование значений исходной функции в производных, возвращаемых derive().
+     * При табуляции производной на сетке с шагом, равным step, значения f(x) и f(x ± h)
+     * соседних узлов совпадают, и исходная функция вычисляется примерно вдвое реже.
+     * Производная с кэшем не потокобезопасна.
+     */
+    public void setCacheSize(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must be non-negative, got: " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+    }
+
+    public boolean isAdaptiveStep() {
+        return adaptiveStep;
+    }
+
+    /**
+     * Включает и выключает автоматический выбор шага.
+     * Выключить его можно только после того, как задан фиксированный шаг (setStep),
+     * иначе производная делила бы на нулевой шаг.
+     */
+    public void setAdaptiveStep(boolean adaptiveStep) {
+        if (!adaptiveStep && step <= 0) {
+            throw new IllegalStateException("Set a positive step before disabling adaptive step");
+        }
+        this.adaptiveStep = adaptiveStep;
+    }
+
+    /**
+     * Шаг, балансирующий погрешность метода порядка accuracyOrder и ошибку округления:
+     *   h ≈ eps^(1 / (accuracyOrder + 1)) * max(|x|, 1).
+     * Шаг подбирается так, чтобы x + h было точно представимо и x + h - x == h.
+     */
+    protected static double adaptiveStep(double x, int accuracyOrder) {
+        double h = Math.pow(Math.ulp(1.0), 1.0 / (accuracyOrder + 1)) * Math.max(Math.abs(x), 1.0);
+        return (x + h) - x;
+    }
+
+    /*
+     * Оборачивает функцию в кэш, если он включён. Производные читают step и adaptiveStep
+     * при каждом вызове, поэтому и допуск кэша берётся от текущего шага; в адаптивном режиме
+     * и без шага кэш не используется.
+     */
+    protected MathFunction cached(MathFunction function) {
+        if (cacheSize == 0) {
+            return function;
+        }
+        return new EvaluationCache(function, cacheSize, () -> adaptiveStep ? 0.0 : step * 1e-7);
+    }
 }
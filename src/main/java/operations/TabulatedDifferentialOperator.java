@@ -28,41 +28,172 @@ public class TabulatedDifferentialOperator implements DifferentialOperator<Tabul
         this.factory = factory;
     }
 
+    // Разностная схема, используемая в derive() и deriveN()
+    public enum Scheme {
+        // Исходная схема: правая разность в первой точке, центральная внутри,
+        // последняя точка повторяет предпоследнюю
+        TWO_POINT,
+        // Трёхточечная схема второго порядка для неравномерной сетки,
+        // на границах — односторонние формулы второго порядка
+        THREE_POINT,
+        // Пятиточечная схема (производная интерполяционного многочлена Лагранжа по 5 соседним узлам),
+        // у границ окно сдвигается внутрь таблицы; при count < 5 используется THREE_POINT
+        FIVE_POINT
+    }
+
+    private Scheme scheme = Scheme.TWO_POINT;
+
+    public Scheme getScheme() {
+        return scheme;
+    }
+
+    public void setScheme(Scheme scheme) {
+        if (scheme == null) {
+            throw new IllegalArgumentException("Scheme must not be null");
+        }
+        this.scheme = scheme;
+    }
+
     @Override
     public TabulatedFunction derive(TabulatedFunction function) {
+        return deriveN(function, 1);
+    }
+
+    /**
+     * Вычисляет производную порядка order табулированной функции.
+     * Промежуточные производные не превращаются в табулированные функции:
+     * схема применяется повторно к двум чередующимся буферам, и только результат
+     * передаётся в фабрику.
+     */
+    public TabulatedFunction deriveN(TabulatedFunction function, int order) {
         if (function == null) {
             throw new IllegalArgumentException("Function must not be null");
         }
+        if (order < 0) {
+            throw new IllegalArgumentException("Order must be non-negative, got: " + order);
+        }
 
-        Point[] points = TabulatedFunctionOperationService.asPoints(function);
-        int n = points.length;
-
+        int n = function.getCount();
         double[] xValues = new double[n];
         double[] yValues = new double[n];
+        TabulatedFunctionOperationService.toArrays(function, xValues, yValues);
 
-        // Копируем x (они не меняются)
-        for (int i = 0; i < n; i++) {
-            xValues[i] = points[i].x;
+        return factory.create(xValues, derive(xValues, yValues, order, scheme));
+    }
+
+    /**
+     * Производная порядка order по массивам узлов. Массив yValues может быть
+     * использован как рабочий буфер; возвращается массив с результатом.
+     */
+    static double[] derive(double[] xValues, double[] yValues, int order, Scheme scheme) {
+        if (order == 0) {
+            return yValues;
+        }
+        double[] source = yValues;
+        double[] target = new double[xValues.length];
+        for (int k = 0; k < order; k++) {
+            derive(xValues, source, target, scheme);
+            double[] tmp = source;
+            source = target;
+            target = tmp;
         }
+        return source;
+    }
+
+    // Один проход численного дифференцирования: result[i] ≈ y'(x[i])
+    static void derive(double[] x, double[] y, double[] result, Scheme scheme) {
+        int n = x.length;
+        if (n == 2 || scheme == Scheme.TWO_POINT) {
+            deriveTwoPoint(x, y, result);
+        } else if (scheme == Scheme.FIVE_POINT && n >= 5) {
+            deriveFivePoint(x, y, result);
+        } else {
+            deriveThreePoint(x, y, result);
+        }
+    }
 
+    private static void deriveTwoPoint(double[] x, double[] y, double[] result) {
+        int n = x.length;
         /* Численное дифференцирование:
          - первая точка: правая разностная производная
-         - последняя точка: левая разностная производная
+         - последняя точка: значение такое же, как и в предпоследней
          - остальные: центральная разностная производная
         */
-        // Первая точка (правая производная)
-        yValues[0] = (points[1].y - points[0].y) / (points[1].x - points[0].x);
+        result[0] = (y[1] - y[0]) / (x[1] - x[0]);
+        for (int i = 1; i < n - 1; i++) {
+            result[i] = (y[i + 1] - y[i - 1]) / (x[i + 1] - x[i - 1]);
+        }
+        result[n - 1] = n == 2 ? result[0] : result[n - 2];
+    }
 
-        // Внутренние точки (центральная производная)
+    private static void deriveThreePoint(double[] x, double[] y, double[] result) {
+        int n = x.length;
+
+        // Первая точка: односторонняя формула второго порядка по узлам 0, 1, 2
+        double h1 = x[1] - x[0];
+        double h2 = x[2] - x[1];
+        result[0] = -(2 * h1 + h2) / (h1 * (h1 + h2)) * y[0]
+                + (h1 + h2) / (h1 * h2) * y[1]
+                - h1 / (h2 * (h1 + h2)) * y[2];
+
+        // Внутренние точки: центральная формула для неравномерного шага
         for (int i = 1; i < n - 1; i++) {
-            // Простая центральная разность
-            yValues[i] = (points[i + 1].y - points[i - 1].y) / (points[i + 1].x - points[i - 1].x);
+            h1 = x[i] - x[i - 1];
+            h2 = x[i + 1] - x[i];
+            result[i] = -h2 / (h1 * (h1 + h2)) * y[i - 1]
+                    + (h2 - h1) / (h1 * h2) * y[i]
+                    + h1 / (h2 * (h1 + h2)) * y[i + 1];
         }
 
-        // Последняя точка (левая производная, т.е. значение такое же, как и предпоследнее)
-        yValues[n - 1] = yValues[n - 2];
+        // Последняя точка: односторонняя формула второго порядка по узлам n-3, n-2, n-1
+        h1 = x[n - 2] - x[n - 3];
+        h2 = x[n - 1] - x[n - 2];
+        result[n - 1] = h2 / (h1 * (h1 + h2)) * y[n - 3]
+                - (h1 + h2) / (h1 * h2) * y[n - 2]
+                + (h1 + 2 * h2) / (h2 * (h1 + h2)) * y[n - 1];
+    }
+
+    private static void deriveFivePoint(double[] x, double[] y, double[] result) {
+        int n = x.length;
+        for (int i = 0; i < n; i++) {
+            // Окно из 5 узлов, по возможности симметричное относительно i
+            int from = Math.min(Math.max(i - 2, 0), n - 5);
+            result[i] = lagrangeDerivative(x, y, from, 5, i);
+        }
+    }
 
-        return factory.create(xValues, yValues);
+    /**
+     * Производная интерполяционного многочлена Лагранжа, построенного по узлам
+     * from..from+len-1, в узле at (который входит в окно):
+     *   L_j'(x_at) = Σ_{m≠j} Π_{k≠j,m} (x_at - x_k) / Π_{k≠j} (x_j - x_k)
+     * Так как x_at совпадает с узлом окна, произведения с множителем (x_at - x_at) зануляются.
+     */
+    private static double lagrangeDerivative(double[] x, double[] y, int from, int len, int at) {
+        double xa = x[at];
+        double sum = 0.0;
+        for (int j = from; j < from + len; j++) {
+            double denominator = 1.0;
+            for (int k = from; k < from + len; k++) {
+                if (k != j) {
+                    denominator *= x[j] - x[k];
+                }
+            }
+            double numerator = 0.0;
+            for (int m = from; m < from + len; m++) {
+                if (m == j) {
+                    continue;
+                }
+                double product = 1.0;
+                for (int k = from; k < from + len; k++) {
+                    if (k != j && k != m) {
+                        product *= xa - x[k];
+                    }
+                }
+                numerator += product;
+            }
+            sum += y[j] * numerator / denominator;
+        }
+        return sum;
     }
 
     public TabulatedFunction deriveSynchronously(TabulatedFunction function) {
@@ -74,7 +205,9 @@ public class TabulatedDifferentialOperator implements DifferentialOperator<Tabul
             syncFunc = new SynchronizedTabulatedFunction(function);
         }
 
-        // Выполняем derive() внутри единого блока синхронизации
-        return syncFunc.doSynchronously(this::derive);
+        // Под блокировкой только копируем массивы, сама производная считается вне её,
+        // поэтому пишущие потоки не ждут окончания дифференцирования
+        SynchronizedTabulatedFunction.Snapshot snapshot = syncFunc.snapshot();
+        return factory.create(snapshot.xValues, derive(snapshot.xValues, snapshot.yValues, 1, scheme));
     }
-}
\ No newline at end of file
+}
@@ -80,6 +80,31 @@ public class TabulatedFunctionOperationService {
         return points;
     }
 
+    /**
+     * Копирует координаты точек функции в заранее выделенные массивы за один проход,
+     * не создавая промежуточный массив Point[].
+     * Для ArrayTabulatedFunction значения читаются по индексу, для остальных — через итератор.
+     */
+    public static void toArrays(TabulatedFunction tabulatedFunction, double[] xValues, double[] yValues) {
+        if (tabulatedFunction == null) {
+            throw new NullPointerException("TabulatedFunction cannot be null");
+        }
+        if (tabulatedFunction instanceof ArrayTabulatedFunction) {
+            int count = tabulatedFunction.getCount();
+            for (int i = 0; i < count; i++) {
+                xValues[i] = tabulatedFunction.getX(i);
+                yValues[i] = tabulatedFunction.getY(i);
+            }
+            return;
+        }
+        int i = 0;
+        for (Point point : tabulatedFunction) {
+            xValues[i] = point.x;
+            yValues[i] = point.y;
+            i++;
+        }
+    }
+
     public TabulatedFunction plus(TabulatedFunction a, TabulatedFunction b) {
         return doOperation(a, b, Double::sum);
     }
@@ -182,4 +182,17 @@ class SynchronizedTabulatedFunctionTest {
         }
     }
 
+    // <<<<>>>> Снимок координат
+    @Test
+    void snapshot_copiesPointsAndIsIndependentOfFunction() {
+        var sync = new SynchronizedTabulatedFunction(new LinkedListTabulatedFunction(X, Y));
+        SynchronizedTabulatedFunction.Snapshot snapshot = sync.snapshot();
+
+        assertArrayEquals(X, snapshot.xValues);
+        assertArrayEquals(Y, snapshot.yValues);
+
+        sync.setY(1, 10.0);
+        assertEquals(1.0, snapshot.yValues[1]);
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package functions;
 
 import exceptions.*;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
 import org.junit.jupiter.api.Test;
 
 import java.util.Iterator;
@@ -44,6 +46,41 @@ public class ArrayTabulatedFunctionTest {
                 new ArrayTabulatedFunction(new double[]{1}, null));
     }
 
+    @Test
+    void testWrapTakesOwnershipWithoutCopy() {
+        double[] x = {0.0, 1.0, 2.0};
+        double[] y = {0.0, 1.0, 4.0};
+        ArrayTabulatedFunction f = ArrayTabulatedFunction.wrap(x, y);
+        y[2] = 8.0;
+        assertEquals(8.0, f.getY(2));
+        assertEquals(4.5, f.apply(1.5), 1e-12);
+    }
+
+    @Test
+    void testWrapValidatesArrays() {
+        assertThrows(IllegalArgumentException.class, () -> ArrayTabulatedFunction.wrap(null, new double[]{1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> ArrayTabulatedFunction.wrap(new double[]{1}, new double[]{1}));
+        assertThrows(DifferentLengthOfArraysException.class, () ->
+                ArrayTabulatedFunction.wrap(new double[]{1, 2}, new double[]{1}));
+        assertThrows(ArrayIsNotSortedException.class, () ->
+                ArrayTabulatedFunction.wrap(new double[]{2, 1}, new double[]{1, 2}));
+    }
+
+    @Test
+    void testCreateOwnedWrapsOnlyForArrayFactory() {
+        double[] x = {0.0, 1.0, 2.0};
+        double[] y = {0.0, 1.0, 4.0};
+        TabulatedFunction owned = ArrayTabulatedFunction.createOwned(new ArrayTabulatedFunctionFactory(), x, y);
+        y[1] = 5.0;
+        assertEquals(5.0, owned.getY(1));
+
+        double[] y2 = {0.0, 1.0, 4.0};
+        TabulatedFunction linked = ArrayTabulatedFunction.createOwned(new LinkedListTabulatedFunctionFactory(), x, y2);
+        assertTrue(linked instanceof LinkedListTabulatedFunction);
+        y2[1] = 5.0;
+        assertEquals(1.0, linked.getY(1));
+    }
+
     @Test
     void testConstructorDifferentLengths() {
         assertThrows(DifferentLengthOfArraysException.class, () ->
@@ -1,5 +1,7 @@
 package functions;
 
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
 import org.junit.jupiter.api.Test;
 import java.util.function.Function;
 import static org.junit.jupiter.api.Assertions.*;
@@ -83,4 +85,211 @@ public class BSplineTest {
         });
     }
 
-}
\ No newline at end of file
+    private static BSpline oscillatorSolver() {
+        // y'' + y = 0, y(0) = 0, y(pi/2) = 1 → y = sin(x)
+        Function<Double, Double> p = x -> 0.0;
+        Function<Double, Double> q = x -> 1.0;
+        Function<Double, Double> f = x -> 0.0;
+        return new BSpline(0.0, Math.PI / 2, 40, p, q, f, 0.0, 1.0);
+    }
+
+    @Test
+    public void testDeBoorMatchesBasisSum() {
+        BSpline solver = oscillatorSolver();
+        double[] knots = solver.getKnots();
+        double[] coefficients = solver.getCoefficients();
+        for (int i = -5; i <= 205; i++) {
+            double x = Math.PI / 2 * i / 200;
+            // Прежний способ: сумма по всем базисным функциям
+            double sum = 0.0;
+            for (int j = 0; j < coefficients.length; j++) {
+                sum += coefficients[j] * BSpline.evalBasis(j, 3, x, knots);
+            }
+            assertEquals(sum, solver.apply(x), 1e-12);
+        }
+    }
+
+    @Test
+    public void testBoundaryValues() {
+        BSpline solver = oscillatorSolver();
+        assertEquals(0.0, solver.apply(0.0), 1e-9);
+        assertEquals(1.0, solver.apply(Math.PI / 2), 1e-9);
+        assertEquals(Math.sin(1.0), solver.apply(1.0), 1e-4);
+        // Вне [a, b] сплайн равен нулю
+        assertEquals(0.0, solver.apply(-0.1));
+        assertEquals(0.0, solver.apply(2.0));
+    }
+
+    @Test
+    public void testFindSpan() {
+        BSpline solver = oscillatorSolver();
+        double[] knots = solver.getKnots();
+        int n = solver.getCoefficients().length;
+        assertEquals(3, solver.findSpan(0.0));
+        assertEquals(n - 1, solver.findSpan(Math.PI / 2));
+        assertEquals(-1, solver.findSpan(-1e-12));
+        assertEquals(-1, solver.findSpan(Double.NaN));
+        for (int span = 3; span < n; span++) {
+            assertEquals(span, solver.findSpan(knots[span]));
+            assertEquals(span, solver.findSpan(0.5 * (knots[span] + knots[span + 1])));
+        }
+    }
+
+    @Test
+    public void testBatchApply() {
+        BSpline solver = oscillatorSolver();
+        double[] xValues = new double[300];
+        for (int i = 0; i < xValues.length; i++) {
+            // Упорядоченные точки, затем несколько точек вразброс
+            xValues[i] = i < 250 ? 1.6 * i / 249 - 0.01 : Math.PI / 2 * ((i * 37) % 50) / 49;
+        }
+        double[] result = new double[xValues.length];
+        solver.apply(xValues, result);
+        for (int i = 0; i < xValues.length; i++) {
+            assertEquals(solver.apply(xValues[i]), result[i]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> solver.apply(xValues, new double[1]));
+    }
+
+    @Test
+    public void testBandedSolverMatchesDense() {
+        Function<Double, Double> p = x -> x;
+        Function<Double, Double> q = x -> -2.0;
+        Function<Double, Double> f = Math::cos;
+        BSpline banded = new BSpline(0.0, 3.0, 60, p, q, f, 1.0, -0.5);
+        BSpline dense = BSpline.withDenseSolver(0.0, 3.0, 60, p, q, f, 1.0, -0.5);
+        double[] expected = dense.getCoefficients();
+        double[] actual = banded.getCoefficients();
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], 1e-8);
+        }
+        assertEquals(-0.5, banded.apply(3.0), 1e-9);
+    }
+
+    @Test
+    public void testLargeBandedSolve() {
+        Function<Double, Double> zero = x -> 0.0;
+        Function<Double, Double> two = x -> 2.0;
+        // Плотной матрице потребовалось бы 20001^2 * 8 байт ≈ 3,2 ГБ
+        BSpline solver = new BSpline(0.0, 1.0, 20_000, zero, zero, two, 0.0, 1.0);
+        assertEquals(0.25, solver.apply(0.5), 1e-3);
+        assertEquals(1.0, solver.apply(1.0), 1e-9);
+    }
+
+    @Test
+    public void testAnalyticDerivativesMatchFiniteDifferences() {
+        double[] knots = oscillatorSolver().getKnots();
+        double h = 1e-4;
+        for (int j = 0; j < knots.length - 4; j++) {
+            for (int i = 1; i < 100; i++) {
+                double x = Math.PI / 2 * (i + 0.3) / 100;
+                double left = BSpline.evalBasis(j, 3, x - h, knots);
+                double center = BSpline.evalBasis(j, 3, x, knots);
+                double right = BSpline.evalBasis(j, 3, x + h, knots);
+                // Точки рядом с узлами пропускаем: там разностная производная неточна
+                if (Math.abs(BSpline.derivBasis(j, 3, x - h, knots, 2) - BSpline.derivBasis(j, 3, x + h, knots, 2)) > 1.0) {
+                    continue;
+                }
+                assertEquals((right - left) / (2 * h), BSpline.derivBasis(j, 3, x, knots, 1), 1e-4);
+                assertEquals((right - 2 * center + left) / (h * h), BSpline.derivBasis(j, 3, x, knots, 2), 1e-1);
+            }
+        }
+    }
+
+    @Test
+    public void testOnePassDerivativesMatchRecursiveOnes() {
+        BSpline solver = oscillatorSolver();
+        double[] knots = solver.getKnots();
+        double[][] table = new double[4][4];
+        double[] values = new double[4];
+        double[] first = new double[4];
+        double[] second = new double[4];
+        for (int i = 0; i <= 200; i++) {
+            double x = Math.PI / 2 * i / 200;
+            int span = solver.findSpan(x);
+            BSpline.basisDerivatives(span, x, knots, table, values, first, second);
+            for (int m = 0; m <= 3; m++) {
+                int j = span - 3 + m;
+                assertEquals(BSpline.derivBasis(j, 3, x, knots, 0), values[m], 1e-12);
+                assertEquals(BSpline.derivBasis(j, 3, x, knots, 1), first[m], 1e-9);
+                assertEquals(BSpline.derivBasis(j, 3, x, knots, 2), second[m], 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testQuadraticSolutionIsExact() {
+        // x^2 лежит в пространстве кубических сплайнов, поэтому коллокация воспроизводит его точно
+        Function<Double, Double> zero = x -> 0.0;
+        BSpline solver = new BSpline(0.0, 1.0, 50, zero, zero, x -> 2.0, 0.0, 1.0);
+        for (int i = 0; i <= 100; i++) {
+            double x = i / 100.0;
+            assertEquals(x * x, solver.apply(x), 1e-12);
+        }
+    }
+
+    @Test
+    public void testParallelAssemblyMatchesSequential() {
+        Function<Double, Double> p = x -> Math.sin(x);
+        Function<Double, Double> q = x -> -1.0 - x * x;
+        Function<Double, Double> f = x -> Math.exp(-x);
+        BSpline sequential = new BSpline(-1.0, 2.0, 5000, p, q, f, 0.5, 2.0);
+        BSpline parallel = new BSpline(-1.0, 2.0, 5000, p, q, f, 0.5, 2.0, true);
+        assertArrayEquals(sequential.getCoefficients(), parallel.getCoefficients());
+    }
+
+    @Test
+    public void testNullCoefficientFunction() {
+        Function<Double, Double> zero = x -> 0.0;
+        assertThrows(IllegalArgumentException.class, () -> new BSpline(0, 1, 10, null, zero, zero, 0, 1));
+    }
+
+    @Test
+    public void testBuilderMatchesFunctionConstructor() {
+        Function<Double, Double> p = x -> x;
+        Function<Double, Double> q = x -> -2.0;
+        Function<Double, Double> f = Math::cos;
+        BSpline boxed = new BSpline(0.0, 3.0, 200, p, q, f, 1.0, -0.5);
+        BSpline primitive = BSpline.builder(0.0, 3.0, 200)
+                .p(x -> x)
+                .q(new ConstantFunction(-2.0))
+                .f(Math::cos)
+                .boundary(1.0, -0.5)
+                .build();
+        assertArrayEquals(boxed.getCoefficients(), primitive.getCoefficients());
+
+        BSpline parallel = BSpline.builder(0.0, 3.0, 200).p(x -> x).q(x -> -2.0).f(Math::cos)
+                .boundary(1.0, -0.5).parallel(true).build();
+        assertArrayEquals(boxed.getCoefficients(), parallel.getCoefficients());
+    }
+
+    @Test
+    public void testBuilderDefaults() {
+        // y'' = 0 с y(0) = 1, y(2) = 3 → y = 1 + x
+        BSpline line = BSpline.builder(0.0, 2.0, 8).boundary(1.0, 3.0).build();
+        assertEquals(2.0, line.apply(1.0), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> BSpline.builder(0, 1, 8).f(null));
+        assertThrows(IllegalArgumentException.class, () -> BSpline.builder(0, 1, 3).build());
+    }
+
+    @Test
+    public void testToTabulated() {
+        BSpline solver = oscillatorSolver();
+        TabulatedFunction table = solver.toTabulated(Math.PI / 2, -0.5, 1001, new ArrayTabulatedFunctionFactory());
+        TabulatedFunction reference = new ArrayTabulatedFunction(solver, -0.5, Math.PI / 2, 1001);
+        assertTrue(table instanceof ArrayTabulatedFunction);
+        assertEquals(1001, table.getCount());
+        for (int i = 0; i < table.getCount(); i++) {
+            assertEquals(reference.getX(i), table.getX(i));
+            assertEquals(reference.getY(i), table.getY(i));
+        }
+        // Вне [a, b] сплайн равен нулю
+        assertEquals(0.0, table.getY(0));
+
+        TabulatedFunction linked = solver.toTabulated(0.0, 1.0, 10, new LinkedListTabulatedFunctionFactory());
+        assertTrue(linked instanceof LinkedListTabulatedFunction);
+        assertThrows(IllegalArgumentException.class, () -> solver.toTabulated(1.0, 1.0, 10, new ArrayTabulatedFunctionFactory()));
+        assertThrows(IllegalArgumentException.class, () -> solver.toTabulated(0.0, 1.0, 1, new ArrayTabulatedFunctionFactory()));
+    }
+}
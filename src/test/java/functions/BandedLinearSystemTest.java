@@ -0,0 +1,73 @@
+package functions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BandedLinearSystemTest {
+
+    // Заполняет ленточную систему и плотную копию её матрицы случайными числами
+    private static double[][] fillRandom(BandedLinearSystem system, int lower, int upper, Random random) {
+        int n = system.size();
+        double[][] dense = new double[n][n];
+        for (int r = 0; r < n; r++) {
+            for (int c = Math.max(0, r - lower); c <= Math.min(n - 1, r + upper); c++) {
+                dense[r][c] = random.nextDouble() - 0.5;
+                if (c == r) {
+                    // Случайные треугольные матрицы плохо обусловлены — немного усиливаем диагональ
+                    dense[r][c] += dense[r][c] < 0 ? -0.5 : 0.5;
+                }
+                system.set(r, c, dense[r][c]);
+            }
+        }
+        return dense;
+    }
+
+    @Test
+    void solvesRandomBandedSystems() {
+        Random random = new Random(7);
+        int[][] shapes = {{1, 1}, {3, 3}, {2, 0}, {0, 2}, {4, 1}};
+        for (int[] shape : shapes) {
+            int n = 60;
+            BandedLinearSystem system = new BandedLinearSystem(n, shape[0], shape[1]);
+            double[][] dense = fillRandom(system, shape[0], shape[1], random);
+            double[] expected = new double[n];
+            for (int i = 0; i < n; i++) {
+                expected[i] = random.nextDouble() * 10 - 5;
+            }
+            for (int r = 0; r < n; r++) {
+                double sum = 0.0;
+                for (int c = 0; c < n; c++) {
+                    sum += dense[r][c] * expected[c];
+                }
+                system.setRightHandSide(r, sum);
+            }
+            double[] x = system.solve();
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected[i], x[i], 1e-8, "shape " + shape[0] + "/" + shape[1]);
+            }
+        }
+    }
+
+    @Test
+    void pivotsOnZeroDiagonal() {
+        // [0 1; 1 0] * x = [2; 3] требует перестановки строк
+        BandedLinearSystem system = new BandedLinearSystem(2, 1, 1);
+        system.set(0, 1, 1.0);
+        system.set(1, 0, 1.0);
+        system.setRightHandSide(0, 2.0);
+        system.setRightHandSide(1, 3.0);
+        assertArrayEquals(new double[]{3.0, 2.0}, system.solve(), 1e-15);
+    }
+
+    @Test
+    void rejectsElementsOutsideOfBand() {
+        BandedLinearSystem system = new BandedLinearSystem(5, 1, 2);
+        assertThrows(IllegalArgumentException.class, () -> system.set(3, 1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> system.set(0, 3, 1.0));
+        assertThrows(IndexOutOfBoundsException.class, () -> system.set(5, 5, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new BandedLinearSystem(0, 1, 1));
+    }
+}
@@ -0,0 +1,112 @@
+package functions;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DormandPrinceFunctionTest {
+
+    //Точное решение для dy/dx = x + y, y(0)=1: y(x) = 2*exp(x) - x - 1
+    private static double exactSolution(double x) {
+        return 2 * Math.exp(x) - x - 1;
+    }
+
+    private static final RungeKuttaFunction.MathFunction2D ODE = (x, y) -> x + y;
+
+    @Test
+    void testApply_AtInitialPoint_ReturnsInitialValue() {
+        DormandPrinceFunction dp = new DormandPrinceFunction(0.0, 1.0, ODE, 1e-8);
+        assertEquals(1.0, dp.apply(0.0), 0.0);
+        assertEquals(0, dp.getEvaluations());
+    }
+
+    @Test
+    void testApply_ForwardAndBackward() {
+        DormandPrinceFunction dp = new DormandPrinceFunction(0.0, 1.0, ODE, 1e-10);
+        for (double x : new double[]{0.3, 1.0, 2.0, -1.0, -3.0}) {
+            assertEquals(exactSolution(x), dp.apply(x), 1e-7 * Math.max(1.0, Math.abs(exactSolution(x))), "x = " + x);
+        }
+
+        DormandPrinceFunction back = new DormandPrinceFunction(1.0, exactSolution(1.0), ODE, 1e-10);
+        assertEquals(1.0, back.apply(0.0), 1e-8);
+    }
+
+    @Test
+    void testTolerance_ControlsAccuracy() {
+        double exact = exactSolution(2.0);
+        DormandPrinceFunction coarse = new DormandPrinceFunction(0.0, 1.0, ODE, 1e-4);
+        DormandPrinceFunction fine = new DormandPrinceFunction(0.0, 1.0, ODE, 1e-10);
+
+        double coarseError = Math.abs(coarse.apply(2.0) - exact);
+        double fineError = Math.abs(fine.apply(2.0) - exact);
+        assertTrue(fineError < coarseError);
+        assertTrue(fine.getEvaluations() > coarse.getEvaluations());
+    }
+
+    @Test
+    void testStatistics() {
+        DormandPrinceFunction dp = new DormandPrinceFunction(0.0, 1.0, ODE, 1e-8);
+        dp.apply(1.0);
+        long accepted = dp.getAcceptedSteps();
+        assertTrue(accepted > 0);
+        // Первое вычисление и по шесть на каждый шаг
+        assertEquals(1 + 6 * (accepted + dp.getRejectedSteps()), dp.getEvaluations());
+
+        dp.apply(1.0);
+        assertEquals(2 * accepted, dp.getAcceptedSteps());
+
+        dp.resetStatistics();
+        assertEquals(0, dp.getAcceptedSteps());
+        assertEquals(0, dp.getRejectedSteps());
+        assertEquals(0, dp.getEvaluations());
+    }
+
+    @Test
+    void testFewerEvaluationsThanFixedStep() {
+        // Быстрый переходный процесс в начале, затем медленное решение: y' = -50 (y - cos x)
+        RungeKuttaFunction.MathFunction2D stiff = (x, y) -> -50 * (y - Math.cos(x));
+        long[] fixedCalls = new long[1];
+        RungeKuttaFunction fixed = new RungeKuttaFunction(0.0, 0.0, (x, y) -> {
+            fixedCalls[0]++;
+            return stiff.apply(x, y);
+        }, 0.001);
+        DormandPrinceFunction adaptive = new DormandPrinceFunction(0.0, 0.0, stiff, 1e-9);
+
+        double reference = new RungeKuttaFunction(0.0, 0.0, stiff, 1e-4).apply(5.0);
+        double fixedValue = fixed.apply(5.0);
+        double adaptiveValue = adaptive.apply(5.0);
+
+        assertEquals(reference, fixedValue, 1e-8);
+        assertEquals(reference, adaptiveValue, 1e-7);
+        assertTrue(adaptive.getEvaluations() < fixedCalls[0],
+                adaptive.getEvaluations() + " vs " + fixedCalls[0]);
+        assertTrue(adaptive.getRejectedSteps() >= 0);
+    }
+
+    @Test
+    void testRelativeToleranceOnlyWithZeroInitialValue() {
+        DormandPrinceFunction dp = new DormandPrinceFunction(0.0, 0.0, (x, y) -> Math.cos(x), 0.0, 1e-8);
+        assertEquals(Math.sin(1.0), dp.apply(1.0), 1e-7);
+        assertTrue(dp.getEvaluations() < 10_000, "evaluations: " + dp.getEvaluations());
+
+        // Тождественно нулевое решение: масштаб остаётся нулевым на всём отрезке
+        DormandPrinceFunction zero = new DormandPrinceFunction(0.0, 0.0, (x, y) -> 0.0, 0.0, 1e-8);
+        assertEquals(0.0, zero.apply(-2.0), 0.0);
+        assertEquals(0, zero.getRejectedSteps());
+    }
+
+    @Test
+    void testStepLimitExceeded() {
+        DormandPrinceFunction dp = new DormandPrinceFunction(0.0, 1.0, ODE, 1e-12, 1e-12, 3);
+        assertThrows(IllegalStateException.class, () -> dp.apply(10.0));
+        assertEquals(3, dp.getAcceptedSteps() + dp.getRejectedSteps());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new DormandPrinceFunction(0.0, 1.0, null, 1e-6));
+        assertThrows(IllegalArgumentException.class, () -> new DormandPrinceFunction(0.0, 1.0, ODE, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new DormandPrinceFunction(0.0, 1.0, ODE, -1e-6, 1e-6));
+        assertThrows(IllegalArgumentException.class, () -> new DormandPrinceFunction(0.0, 1.0, ODE, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new DormandPrinceFunction(0.0, 1.0, ODE, 1e-6, 1e-6, 0));
+    }
+}
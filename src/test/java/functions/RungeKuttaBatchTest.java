@@ -0,0 +1,106 @@
+package functions;
+
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RungeKuttaBatchTest {
+
+    private static final RungeKuttaFunction.MathFunction2D ODE = (x, y) -> x + y;
+
+    // Точное решение dy/dx = x + y, y(0) = c: y(x) = (c + 1) e^x - x - 1
+    private static double exactSolution(double c, double x) {
+        return (c + 1) * Math.exp(x) - x - 1;
+    }
+
+    private static double[] initialValues(int n) {
+        double[] y0 = new double[n];
+        for (int j = 0; j < n; j++) {
+            y0[j] = -1.0 + 2.0 * j / n;
+        }
+        return y0;
+    }
+
+    @Test
+    void testIntegrate_MatchesSingleTrajectories() {
+        double[] y0 = initialValues(50);
+        RungeKuttaBatch batch = new RungeKuttaBatch(0.0, y0, ODE, 0.01);
+        assertEquals(50, batch.getSize());
+
+        double[] values = batch.integrate(1.3);
+        for (int j = 0; j < y0.length; j++) {
+            RungeKuttaSystem single = new RungeKuttaSystem(0.0, new double[]{y0[j]}, (x, y, d) -> d[0] = x + y[0], 0.01);
+            assertEquals(single.integrate(1.3)[0], values[j], 0.0);
+            assertEquals(exactSolution(y0[j], 1.3), values[j], 1e-7);
+        }
+        assertArrayEquals(y0, batch.integrate(0.0), 0.0);
+    }
+
+    @Test
+    void testIntegrate_ParallelMatchesSequential() {
+        double[] y0 = initialValues(5000);
+        RungeKuttaBatch batch = new RungeKuttaBatch(0.0, y0, ODE, 0.01);
+        double[] sequential = batch.integrate(-0.7);
+
+        batch.setParallel(true);
+        assertTrue(batch.isParallel());
+        assertArrayEquals(sequential, batch.integrate(-0.7), 0.0);
+    }
+
+    @Test
+    void testToTabulated() {
+        double[] y0 = initialValues(3000);
+        RungeKuttaBatch batch = new RungeKuttaBatch(0.0, y0, ODE, 0.01);
+        batch.setParallel(true);
+        TabulatedFunction[] table = batch.toTabulated(1.0, 21, new ArrayTabulatedFunctionFactory());
+
+        assertEquals(y0.length, table.length);
+        for (int j = 0; j < y0.length; j += 97) {
+            assertEquals(21, table[j].getCount());
+            assertEquals(y0[j], table[j].getY(0), 0.0);
+            for (int i = 0; i < 21; i++) {
+                assertEquals(exactSolution(y0[j], table[j].getX(i)), table[j].getY(i), 1e-7);
+            }
+        }
+        // Траектории не разделяют массив узлов
+        table[0].setY(0, 42.0);
+        assertEquals(y0[1], table[1].getY(0), 0.0);
+    }
+
+    @Test
+    void testToTabulated_Backward() {
+        double[] y0 = {0.0, 1.0, 2.0};
+        RungeKuttaBatch batch = new RungeKuttaBatch(0.0, y0, ODE, 0.01);
+        TabulatedFunction[] table = batch.toTabulated(-2.0, 11, new LinkedListTabulatedFunctionFactory());
+
+        assertTrue(table[2] instanceof LinkedListTabulatedFunction);
+        assertEquals(-2.0, table[2].leftBound(), 1e-12);
+        assertEquals(0.0, table[2].rightBound(), 0.0);
+        for (int j = 0; j < y0.length; j++) {
+            assertEquals(y0[j], table[j].getY(10), 0.0);
+            assertEquals(exactSolution(y0[j], -2.0), table[j].getY(0), 1e-7);
+        }
+    }
+
+    @Test
+    void testInitialValuesAreCopied() {
+        double[] y0 = {1.0, 2.0};
+        RungeKuttaBatch batch = new RungeKuttaBatch(0.0, y0, ODE, 0.01);
+        y0[0] = 100.0;
+        assertEquals(1.0, batch.integrate(0.0)[0], 0.0);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaBatch(0.0, new double[0], ODE, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaBatch(0.0, null, ODE, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaBatch(0.0, new double[2], null, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaBatch(0.0, new double[2], ODE, -0.01));
+
+        RungeKuttaBatch batch = new RungeKuttaBatch(0.0, new double[2], ODE, 0.01);
+        assertThrows(IllegalArgumentException.class, () -> batch.toTabulated(0.0, 10, new ArrayTabulatedFunctionFactory()));
+        assertThrows(IllegalArgumentException.class, () -> batch.toTabulated(1.0, 1, new ArrayTabulatedFunctionFactory()));
+        assertThrows(IllegalArgumentException.class, () -> batch.toTabulated(1.0, 10, null));
+    }
+}
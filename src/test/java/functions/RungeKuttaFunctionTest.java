@@ -1,5 +1,7 @@
 package functions;
 
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -125,4 +127,95 @@ public class RungeKuttaFunctionTest {
         assertEquals(expected, actual, 1e-5,
                 "Должно корректно работать с другим ОДУ: dy/dx = -y");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCheckpoints_SameResultsAsPlainIntegration() {
+        RungeKuttaFunction plain = new RungeKuttaFunction(0.0, 1.0, ODE, 0.01);
+        RungeKuttaFunction cached = new RungeKuttaFunction(0.0, 1.0, ODE, 0.01, 10, 1000);
+
+        double[] points = {2.0, 0.37, 1.0, 1.999, 0.05, -0.8, -0.33, 0.0, 1.5, -1.2};
+        for (double x : points) {
+            assertEquals(plain.apply(x), cached.apply(x), 0.0, "x = " + x);
+        }
+        // Повторный проход по тем же точкам идёт от контрольных точек
+        for (double x : points) {
+            assertEquals(plain.apply(x), cached.apply(x), 0.0, "x = " + x);
+        }
+        assertTrue(cached.checkpointCount() > 0);
+    }
+
+    @Test
+    void testCheckpoints_ResumeFromNearestPoint() {
+        int[] calls = new int[1];
+        RungeKuttaFunction.MathFunction2D counting = (x, y) -> {
+            calls[0]++;
+            return x + y;
+        };
+        RungeKuttaFunction rk = new RungeKuttaFunction(0.0, 1.0, counting, 0.01, 10, 1000);
+
+        rk.apply(1.0);
+        calls[0] = 0;
+        double value = rk.apply(1.005);
+        // Не больше 10 полных шагов от контрольной точки и один укороченный
+        assertTrue(calls[0] <= 4 * 11, "calls = " + calls[0]);
+        assertEquals(exactSolution(1.005), value, TOLERANCE_001);
+    }
+
+    @Test
+    void testCheckpoints_BoundedCache() {
+        RungeKuttaFunction rk = new RungeKuttaFunction(0.0, 1.0, ODE, 0.01, 5, 8);
+        rk.apply(3.0);
+        rk.apply(-3.0);
+        assertEquals(8, rk.checkpointCount());
+        RungeKuttaFunction plain = new RungeKuttaFunction(0.0, 1.0, ODE, 0.01);
+        assertEquals(plain.apply(0.42), rk.apply(0.42), 0.0);
+        assertEquals(plain.apply(-2.9), rk.apply(-2.9), 0.0);
+    }
+
+    @Test
+    void testCheckpoints_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaFunction(0.0, 1.0, ODE, 0.01, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaFunction(0.0, 1.0, ODE, 0.01, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaFunction(0.0, 1.0, ODE, 0.0, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaFunction(0.0, 1.0, null, 0.01, 10, 10));
+    }
+
+    @Test
+    void testToTabulated_MatchesApply() {
+        RungeKuttaFunction rk = new RungeKuttaFunction(0.0, 1.0, ODE, 0.01);
+        TabulatedFunction table = rk.toTabulated(1.5, -1.0, 101, new ArrayTabulatedFunctionFactory());
+
+        assertTrue(table instanceof ArrayTabulatedFunction);
+        assertEquals(101, table.getCount());
+        assertEquals(-1.0, table.getX(0), 1e-12);
+        assertEquals(1.5, table.getX(100), 1e-12);
+        for (int i = 0; i < table.getCount(); i++) {
+            assertEquals(rk.apply(table.getX(i)), table.getY(i), 0.0, "x = " + table.getX(i));
+        }
+        assertEquals(1.0, table.apply(0.0), 1e-12);
+    }
+
+    @Test
+    void testToTabulated_SingleSweep() {
+        int[] calls = new int[1];
+        RungeKuttaFunction.MathFunction2D counting = (x, y) -> {
+            calls[0]++;
+            return x + y;
+        };
+        RungeKuttaFunction rk = new RungeKuttaFunction(0.0, 1.0, counting, 0.01);
+        TabulatedFunction table = rk.toTabulated(0.0, 2.0, 1001, new LinkedListTabulatedFunctionFactory());
+
+        assertTrue(table instanceof LinkedListTabulatedFunction);
+        // 200 полных шагов и не более одного укороченного на точку
+        assertTrue(calls[0] <= 4 * (200 + 1000), "calls = " + calls[0]);
+        assertEquals(exactSolution(2.0), table.getY(1000), TOLERANCE_001);
+    }
+
+    @Test
+    void testToTabulated_InvalidArguments() {
+        RungeKuttaFunction rk = new RungeKuttaFunction(0.0, 1.0, ODE, 0.01);
+        assertThrows(IllegalArgumentException.class, () -> rk.toTabulated(0.0, 1.0, 1, new ArrayTabulatedFunctionFactory()));
+        assertThrows(IllegalArgumentException.class, () -> rk.toTabulated(1.0, 1.0, 10, new ArrayTabulatedFunctionFactory()));
+        assertThrows(IllegalArgumentException.class, () -> rk.toTabulated(0.0, 1.0, 10, null));
+    }
+}
@@ -0,0 +1,112 @@
+package functions;
+
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RungeKuttaSystemTest {
+
+    // y'' = -y как система (y, y')' = (y', -y); при y(0) = 0, y'(0) = 1 решение — (sin x, cos x)
+    private static final RungeKuttaSystem.SystemFunction OSCILLATOR = (x, y, d) -> {
+        d[0] = y[1];
+        d[1] = -y[0];
+    };
+
+    @Test
+    void testIntegrate_Oscillator() {
+        RungeKuttaSystem system = new RungeKuttaSystem(0.0, new double[]{0.0, 1.0}, OSCILLATOR, 0.01);
+        assertEquals(2, system.getDimension());
+
+        double[] state = system.integrate(Math.PI / 2);
+        assertEquals(1.0, state[0], 1e-8);
+        assertEquals(0.0, state[1], 1e-8);
+
+        double[] buffer = new double[2];
+        system.integrate(-1.0, buffer);
+        assertEquals(Math.sin(-1.0), buffer[0], 1e-8);
+        assertEquals(Math.cos(-1.0), buffer[1], 1e-8);
+
+        system.integrate(0.0, buffer);
+        assertArrayEquals(new double[]{0.0, 1.0}, buffer, 0.0);
+    }
+
+    @Test
+    void testIntegrate_MatchesScalarSolver() {
+        RungeKuttaSystem system = new RungeKuttaSystem(0.0, new double[]{1.0}, (x, y, d) -> d[0] = x + y[0], 0.01);
+        RungeKuttaFunction scalar = new RungeKuttaFunction(0.0, 1.0, (x, y) -> x + y, 0.01);
+        // Шаг 0.01 укладывается в [0, 1] целое число раз, так что шаги совпадают
+        assertEquals(scalar.apply(1.0), system.integrate(1.0)[0], 1e-12);
+    }
+
+    @Test
+    void testInitialStateIsCopied() {
+        double[] y0 = {0.0, 1.0};
+        RungeKuttaSystem system = new RungeKuttaSystem(0.0, y0, OSCILLATOR, 0.01);
+        y0[0] = 100.0;
+        assertEquals(0.0, system.integrate(0.0)[0], 0.0);
+    }
+
+    @Test
+    void testToTabulated_Components() {
+        RungeKuttaSystem system = new RungeKuttaSystem(0.0, new double[]{0.0, 1.0}, OSCILLATOR, 0.01);
+        TabulatedFunction[] table = system.toTabulated(2 * Math.PI, 65, new ArrayTabulatedFunctionFactory());
+
+        assertEquals(2, table.length);
+        for (int i = 0; i < 65; i++) {
+            double x = table[0].getX(i);
+            assertEquals(x, table[1].getX(i), 0.0);
+            assertEquals(Math.sin(x), table[0].getY(i), 1e-7);
+            assertEquals(Math.cos(x), table[1].getY(i), 1e-7);
+        }
+        assertEquals(2 * Math.PI, table[0].rightBound(), 1e-12);
+
+        // Компоненты не разделяют массив узлов
+        table[0].setY(0, 5.0);
+        assertEquals(1.0, table[1].getY(0), 1e-12);
+    }
+
+    @Test
+    void testToTabulated_Backward() {
+        RungeKuttaSystem system = new RungeKuttaSystem(0.0, new double[]{0.0, 1.0}, OSCILLATOR, 0.01);
+        TabulatedFunction[] table = system.toTabulated(-3.0, 31, new LinkedListTabulatedFunctionFactory());
+
+        assertTrue(table[0] instanceof LinkedListTabulatedFunction);
+        assertEquals(-3.0, table[0].leftBound(), 1e-12);
+        assertEquals(0.0, table[0].rightBound(), 0.0);
+        for (int i = 0; i < 31; i++) {
+            assertEquals(Math.sin(table[0].getX(i)), table[0].getY(i), 1e-7);
+        }
+    }
+
+    @Test
+    void testLargeSystem() {
+        int n = 300;
+        double[] y0 = new double[n];
+        java.util.Arrays.fill(y0, 1.0);
+        // Независимые уравнения y_i' = -rate_i * y_i
+        RungeKuttaSystem system = new RungeKuttaSystem(0.0, y0, (x, y, d) -> {
+            for (int i = 0; i < y.length; i++) {
+                d[i] = -(i / 100.0) * y[i];
+            }
+        }, 0.01);
+        double[] state = system.integrate(1.0);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Math.exp(-i / 100.0), state[i], 1e-8, "component " + i);
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaSystem(0.0, new double[0], OSCILLATOR, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaSystem(0.0, null, OSCILLATOR, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaSystem(0.0, new double[2], null, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new RungeKuttaSystem(0.0, new double[2], OSCILLATOR, 0.0));
+
+        RungeKuttaSystem system = new RungeKuttaSystem(0.0, new double[]{0.0, 1.0}, OSCILLATOR, 0.01);
+        assertThrows(IllegalArgumentException.class, () -> system.integrate(1.0, new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> system.toTabulated(0.0, 10, new ArrayTabulatedFunctionFactory()));
+        assertThrows(IllegalArgumentException.class, () -> system.toTabulated(1.0, 1, new ArrayTabulatedFunctionFactory()));
+        assertThrows(IllegalArgumentException.class, () -> system.toTabulated(1.0, 10, null));
+    }
+}
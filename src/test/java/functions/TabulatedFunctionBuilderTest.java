@@ -0,0 +1,45 @@
+package functions;
+
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabulatedFunctionBuilderTest {
+
+    @Test
+    void appendsInOrderBeyondInitialCapacity() {
+        TabulatedFunctionBuilder builder = new TabulatedFunctionBuilder(2);
+        for (int i = 0; i < 1000; i++) {
+            builder.insert(i, i * i);
+        }
+        assertEquals(1000, builder.getCount());
+        TabulatedFunction f = builder.build(new ArrayTabulatedFunctionFactory());
+        assertEquals(1000, f.getCount());
+        assertEquals(999.0 * 999.0, f.getY(999));
+    }
+
+    @Test
+    void insertsOutOfOrderAndReplacesDuplicates() {
+        TabulatedFunctionBuilder builder = new TabulatedFunctionBuilder();
+        builder.insert(3.0, 30.0);
+        builder.insert(1.0, 10.0);
+        builder.insert(2.0, 20.0);
+        builder.insert(1.0, 11.0);
+        TabulatedFunction f = builder.build(new LinkedListTabulatedFunctionFactory());
+
+        assertTrue(f instanceof LinkedListTabulatedFunction);
+        assertEquals(3, f.getCount());
+        assertEquals(1.0, f.getX(0));
+        assertEquals(11.0, f.getY(0));
+        assertEquals(2.0, f.getX(1));
+        assertEquals(30.0, f.getY(2));
+    }
+
+    @Test
+    void invalidArguments_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new TabulatedFunctionBuilder(0));
+        assertThrows(IllegalArgumentException.class, () -> new TabulatedFunctionBuilder().build(null));
+    }
+}
@@ -29,6 +29,26 @@ public class TabulatedFunctionFactoryTest {
         assertEquals(1.0, f.getX(1), 1e-10);
     }
 
+    @Test
+    void arrayFactory_createOwnedCopies() {
+        double[] x = {0.0, 1.0, 2.0};
+        double[] y = {0.0, 1.0, 4.0};
+        TabulatedFunction f = new ArrayTabulatedFunctionFactory().createOwned(x, y);
+        assertTrue(f instanceof ArrayTabulatedFunction);
+        y[1] = 5.0;
+        assertEquals(1.0, f.getY(1), 1e-10);
+    }
+
+    @Test
+    void linkedListFactory_createOwnedFallsBackToCreate() {
+        double[] x = {0.0, 1.0, 2.0};
+        double[] y = {0.0, 1.0, 4.0};
+        TabulatedFunction f = new LinkedListTabulatedFunctionFactory().createOwned(x, y);
+        assertTrue(f instanceof LinkedListTabulatedFunction);
+        y[1] = 5.0;
+        assertEquals(1.0, f.getY(1), 1e-10);
+    }
+
     @Test
     void factories_produceEquivalentFunctions() {
         TabulatedFunctionFactory arrayFactory = new ArrayTabulatedFunctionFactory();
@@ -0,0 +1,159 @@
+package io;
+
+import functions.*;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncFunctionsIOTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static void assertSameFunction(TabulatedFunction expected, TabulatedFunction actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        for (int i = 0; i < expected.getCount(); i++) {
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+        }
+    }
+
+    @Test
+    void writesAndReadsInBothByteOrders() throws Exception {
+        AsyncFunctionsIO io = new AsyncFunctionsIO();
+        // Больше одного буфера, чтобы блок пересёк границу между x и y
+        TabulatedFunction sin = new ArrayTabulatedFunction(Math::sin, 0.0, 10.0, 50_001);
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            Path file = tempDir.resolve("sin-" + order + ".bin");
+            io.write(file, sin, order).get();
+            assertEquals(FunctionsIO.CHANNEL_HEADER_SIZE + 16L * 50_001, Files.size(file));
+
+            assertSameFunction(sin, io.read(file, new ArrayTabulatedFunctionFactory()).get());
+        }
+
+        // Функция создаётся переданной фабрикой (небольшая таблица: индексный доступ к списку — O(n))
+        Path small = tempDir.resolve("small.bin");
+        TabulatedFunction cos = new ArrayTabulatedFunction(Math::cos, 0.0, 1.0, 101);
+        io.write(small, cos).get();
+        TabulatedFunction read = io.read(small, new LinkedListTabulatedFunctionFactory()).get();
+        assertTrue(read instanceof LinkedListTabulatedFunction);
+        assertSameFunction(cos, read);
+    }
+
+    @Test
+    void operationFailingSynchronouslyReleasesItsSlot() throws Exception {
+        AsyncFunctionsIO io = new AsyncFunctionsIO(1);
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        io.submit(failed, () -> {
+            throw new IllegalStateException("boom");
+        });
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof IllegalStateException);
+
+        // Единственное разрешение освобождено, следующие операции выполняются
+        Path file = tempDir.resolve("after-failure.bin");
+        TabulatedFunction sqr = new ArrayTabulatedFunction(new SqrFunction(), 0.0, 1.0, 5);
+        io.write(file, sqr).get(5, TimeUnit.SECONDS);
+        assertSameFunction(sqr, io.read(file, new ArrayTabulatedFunctionFactory()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void isCompatibleWithSynchronousChannelFormat() throws Exception {
+        Path file = tempDir.resolve("sqr.bin");
+        TabulatedFunction sqr = new ArrayTabulatedFunction(new SqrFunction(), -5.0, 5.0, 11);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FunctionsIO.writeTabulatedFunction(channel, sqr, ByteOrder.BIG_ENDIAN);
+        }
+        assertSameFunction(sqr, new AsyncFunctionsIO().read(file, new ArrayTabulatedFunctionFactory()).get());
+
+        Path copy = tempDir.resolve("copy.bin");
+        new AsyncFunctionsIO().write(copy, sqr).get();
+        try (FileChannel channel = FileChannel.open(copy, StandardOpenOption.READ)) {
+            assertSameFunction(sqr, FunctionsIO.readTabulatedFunction(channel, new ArrayTabulatedFunctionFactory()));
+        }
+    }
+
+    @Test
+    void limitsOperationsInFlight() throws Exception {
+        AsyncFunctionsIO io = new AsyncFunctionsIO(2);
+        List<Path> paths = new ArrayList<>();
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Path file = tempDir.resolve("f" + i + ".bin");
+            paths.add(file);
+            double k = i;
+            writes.add(io.write(file, new ArrayTabulatedFunction(x -> k * x, 0.0, 1.0, 1000)));
+        }
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).get();
+
+        List<TabulatedFunction> functions = io.readAll(paths, new ArrayTabulatedFunctionFactory()).get();
+        assertEquals(20, functions.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, functions.get(i).getY(999), 1e-12);
+        }
+        assertTrue(io.getPeakInFlight() <= 2);
+    }
+
+    @Test
+    void rejectsTruncatedAndCorruptFiles() throws Exception {
+        AsyncFunctionsIO io = new AsyncFunctionsIO();
+        Path truncated = tempDir.resolve("truncated.bin");
+        io.write(truncated, new ArrayTabulatedFunction(Math::sin, 0.0, 1.0, 100)).get();
+        try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.WRITE)) {
+            channel.truncate(FunctionsIO.CHANNEL_HEADER_SIZE + 16L * 50);
+        }
+        ExecutionException shortData = assertThrows(ExecutionException.class,
+                () -> io.read(truncated, new ArrayTabulatedFunctionFactory()).get(5, TimeUnit.SECONDS));
+        assertTrue(shortData.getCause() instanceof IOException, String.valueOf(shortData.getCause()));
+
+        // Заголовок обещает 2^31 - 1 точек: ошибка вместо попытки выделить гигабайты
+        Path corrupt = tempDir.resolve("corrupt.bin");
+        ByteBuffer header = ByteBuffer.allocate(FunctionsIO.CHANNEL_HEADER_SIZE + 32);
+        FunctionsIO.writeChannelHeader(header, Integer.MAX_VALUE, ByteOrder.BIG_ENDIAN);
+        Files.write(corrupt, header.array());
+        ExecutionException hugeCount = assertThrows(ExecutionException.class,
+                () -> io.read(corrupt, new ArrayTabulatedFunctionFactory()).get(5, TimeUnit.SECONDS));
+        assertTrue(hugeCount.getCause() instanceof IOException, String.valueOf(hugeCount.getCause()));
+    }
+
+    @Test
+    void reportsErrorsThroughFuture() throws IOException {
+        AsyncFunctionsIO io = new AsyncFunctionsIO(1);
+        ExecutionException missing = assertThrows(ExecutionException.class,
+                () -> io.read(tempDir.resolve("missing.bin"), new ArrayTabulatedFunctionFactory()).get());
+        assertTrue(missing.getCause() instanceof NoSuchFileException);
+
+        Path garbage = tempDir.resolve("garbage.bin");
+        Files.write(garbage, new byte[32]);
+        ExecutionException invalid = assertThrows(ExecutionException.class,
+                () -> io.read(garbage, new ArrayTabulatedFunctionFactory()).get());
+        assertTrue(invalid.getCause() instanceof IOException);
+
+        // После ошибок разрешение возвращено, и следующие операции выполняются
+        Path file = tempDir.resolve("ok.bin");
+        assertDoesNotThrow(() -> io.write(file, new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4})).get());
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncFunctionsIO(0));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncFunctionsIO().read(null, new ArrayTabulatedFunctionFactory()));
+    }
+}
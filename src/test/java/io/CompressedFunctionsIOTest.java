@@ -0,0 +1,100 @@
+package io;
+
+import functions.*;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedFunctionsIOTest {
+
+    private static byte[] write(TabulatedFunction function, boolean deflate) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedFunctionsIO.write(bytes, function, deflate);
+        return bytes.toByteArray();
+    }
+
+    private static TabulatedFunction read(byte[] bytes) throws IOException {
+        return CompressedFunctionsIO.read(new ByteArrayInputStream(bytes), new ArrayTabulatedFunctionFactory());
+    }
+
+    private static void assertSameFunction(TabulatedFunction expected, TabulatedFunction actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        for (int i = 0; i < expected.getCount(); i++) {
+            // Сравнение битовых представлений: формат без потерь
+            assertEquals(Double.doubleToRawLongBits(expected.getX(i)), Double.doubleToRawLongBits(actual.getX(i)));
+            assertEquals(Double.doubleToRawLongBits(expected.getY(i)), Double.doubleToRawLongBits(actual.getY(i)));
+        }
+    }
+
+    @Test
+    void roundTripsUniformGrid() throws IOException {
+        TabulatedFunction sin = new ArrayTabulatedFunction(Math::sin, -3.0, 7.0, 1001);
+        assertSameFunction(sin, read(write(sin, false)));
+        assertSameFunction(sin, read(write(sin, true)));
+    }
+
+    @Test
+    void roundTripsNonUniformAndRandomValues() throws IOException {
+        Random random = new Random(42);
+        int n = 500;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double current = -10.0;
+        for (int i = 0; i < n; i++) {
+            current += random.nextDouble() + 1e-3;
+            x[i] = current;
+            y[i] = i % 7 == 0 ? y[Math.max(i - 1, 0)] : random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20);
+        }
+        y[3] = -0.0;
+        y[4] = Double.NaN;
+        y[5] = Double.POSITIVE_INFINITY;
+        TabulatedFunction function = new LinkedListTabulatedFunction(x, y);
+        assertSameFunction(function, read(write(function, false)));
+        assertSameFunction(function, read(write(function, true)));
+    }
+
+    @Test
+    void roundTripsTwoPoints() throws IOException {
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{1.5, 2.5}, new double[]{-1.0, 1.0});
+        TabulatedFunction result = CompressedFunctionsIO.read(new ByteArrayInputStream(write(function, false)),
+                new LinkedListTabulatedFunctionFactory());
+        assertTrue(result instanceof LinkedListTabulatedFunction);
+        assertSameFunction(function, result);
+    }
+
+    @Test
+    void roundTripsNegativeZero() throws IOException {
+        // Узлы -0.0, 1.0, 2.0 равны -0.0 + i * 1.0 по ==, но первый узел так восстановится как +0.0
+        TabulatedFunction function = new ArrayTabulatedFunction(new double[]{-0.0, 1.0, 2.0}, new double[]{-0.0, 0.0, -0.0});
+        assertSameFunction(function, read(write(function, false)));
+        assertSameFunction(function, read(write(function, true)));
+    }
+
+    @Test
+    void isSmallerThanPlainBinaryFormat() throws IOException {
+        TabulatedFunction sqr = new ArrayTabulatedFunction(new SqrFunction(), 0.0, 100.0, 10001);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        FunctionsIO.writeTabulatedFunction(new BufferedOutputStream(plain), sqr);
+
+        byte[] compressed = write(sqr, false);
+        // Узлы сетки занимают 16 байт, значения — меньше 8 байт на точку
+        assertTrue(compressed.length < plain.size() / 2, "compressed: " + compressed.length + ", plain: " + plain.size());
+        assertTrue(write(sqr, true).length <= compressed.length);
+    }
+
+    @Test
+    void rejectsCorruptedInput() {
+        assertThrows(IOException.class, () -> read(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}));
+
+        TabulatedFunction sin = new ArrayTabulatedFunction(Math::sin, 0.0, 1.0, 100);
+        assertThrows(EOFException.class, () -> {
+            byte[] bytes = write(sin, false);
+            read(java.util.Arrays.copyOf(bytes, bytes.length / 2));
+        });
+    }
+}
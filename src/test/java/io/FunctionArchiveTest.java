@@ -0,0 +1,102 @@
+package io;
+
+import functions.*;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FunctionArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writesAndReadsNamedFunctions() throws IOException {
+        Path file = tempDir.resolve("functions.tfar");
+        TabulatedFunction sqr = new ArrayTabulatedFunction(new SqrFunction(), 0.0, 10.0, 101);
+        TabulatedFunction sin = new LinkedListTabulatedFunction(Math::sin, 0.0, Math.PI, 50);
+        try (FunctionArchiveWriter writer = new FunctionArchiveWriter(file)) {
+            writer.add("sqr", sqr);
+            writer.add("sin", sin);
+            writer.add("функция", new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4}));
+        }
+
+        try (FunctionArchive archive = new FunctionArchive(file)) {
+            assertEquals(List.of("sqr", "sin", "функция"), List.copyOf(archive.names()));
+            assertEquals(50, archive.getCount("sin"));
+
+            TabulatedFunction readSin = archive.read("sin", new LinkedListTabulatedFunctionFactory());
+            assertTrue(readSin instanceof LinkedListTabulatedFunction);
+            for (int i = 0; i < 50; i++) {
+                assertEquals(sin.getX(i), readSin.getX(i));
+                assertEquals(sin.getY(i), readSin.getY(i));
+            }
+            assertEquals(4.0, archive.read("функция", new ArrayTabulatedFunctionFactory()).getY(1));
+        }
+    }
+
+    @Test
+    void readsSliceOfPoints() throws IOException {
+        Path file = tempDir.resolve("slice.tfar");
+        TabulatedFunction sqr = new ArrayTabulatedFunction(new SqrFunction(), 0.0, 100.0, 101);
+        try (FunctionArchiveWriter writer = new FunctionArchiveWriter(file)) {
+            writer.add("sqr", sqr);
+        }
+        try (FunctionArchive archive = new FunctionArchive(file)) {
+            TabulatedFunction slice = archive.read("sqr", 40, 45, new ArrayTabulatedFunctionFactory());
+            assertEquals(5, slice.getCount());
+            assertEquals(40.0, slice.getX(0));
+            assertEquals(44.0 * 44.0, slice.getY(4));
+            assertThrows(IndexOutOfBoundsException.class, () -> archive.read("sqr", 100, 102, new ArrayTabulatedFunctionFactory()));
+        }
+    }
+
+    @Test
+    void errors() throws IOException {
+        Path file = tempDir.resolve("errors.tfar");
+        try (FunctionArchiveWriter writer = new FunctionArchiveWriter(file)) {
+            writer.add("a", new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4}));
+            assertThrows(IllegalArgumentException.class, () ->
+                    writer.add("a", new ArrayTabulatedFunction(new double[]{1, 2}, new double[]{3, 4})));
+        }
+        try (FunctionArchive archive = new FunctionArchive(file)) {
+            assertFalse(archive.contains("b"));
+            assertThrows(IOException.class, () -> archive.read("b", new ArrayTabulatedFunctionFactory()));
+        }
+
+        Path broken = tempDir.resolve("broken.tfar");
+        Files.write(broken, new byte[64]);
+        assertThrows(IOException.class, () -> new FunctionArchive(broken));
+    }
+
+    @Test
+    void failedAddDoesNotReserveName() throws IOException {
+        Path file = tempDir.resolve("retry.tfar");
+        // Функция, чтение которой однажды падает
+        TabulatedFunction failing = new ArrayTabulatedFunction(new double[]{0, 1}, new double[]{5, 6}) {
+            @Override
+            public double getY(int index) {
+                throw new IllegalStateException("Source is unavailable");
+            }
+        };
+        TabulatedFunction good = new ArrayTabulatedFunction(new double[]{0, 1}, new double[]{7, 8});
+        try (FunctionArchiveWriter writer = new FunctionArchiveWriter(file)) {
+            assertThrows(IllegalStateException.class, () -> writer.add("f", failing));
+            writer.add("f", good);
+            assertThrows(IllegalArgumentException.class, () -> writer.add("f", good));
+        }
+
+        try (FunctionArchive archive = new FunctionArchive(file)) {
+            assertEquals(List.of("f"), List.copyOf(archive.names()));
+            assertEquals(8.0, archive.read("f", new ArrayTabulatedFunctionFactory()).getY(1));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package io;
+
+import functions.*;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FunctionDirectoryLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final TabulatedFunction sqr = new ArrayTabulatedFunction(new SqrFunction(), 0.0, 4.0, 5);
+
+    private void writeAllFormats() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(tempDir.resolve("a-text.txt"), StandardCharsets.UTF_8)) {
+            writer.write("5\n0,0 0,0\n1,0 1,0\n2,0 4,0\n3,0 9,0\n4,0 16,0\n");
+        }
+        try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(tempDir.resolve("b-binary.bin")))) {
+            FunctionsIO.writeTabulatedFunction(out, sqr);
+        }
+        try (FileChannel channel = FileChannel.open(tempDir.resolve("c-channel.bin"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FunctionsIO.writeTabulatedFunction(channel, sqr);
+        }
+        try (OutputStream out = Files.newOutputStream(tempDir.resolve("d-compressed.bin"))) {
+            CompressedFunctionsIO.write(out, sqr, true);
+        }
+        try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(tempDir.resolve("e-serialized.ser")))) {
+            FunctionsIO.serialize(out, sqr);
+        }
+    }
+
+    @Test
+    void loadsEveryFormatThroughFactory() throws IOException {
+        writeAllFormats();
+        FunctionDirectoryLoader loader = new FunctionDirectoryLoader(new LinkedListTabulatedFunctionFactory());
+        loader.setParallelism(3);
+        loader.setSerializedAllowed(true);
+        FunctionDirectoryLoader.Report report = loader.load(tempDir);
+
+        List<FunctionDirectoryLoader.Result> results = report.getResults();
+        assertEquals(5, results.size());
+        assertTrue(report.getFailures().isEmpty(), report.getFailures().toString());
+        assertArrayEquals(FunctionDirectoryLoader.Format.values(),
+                results.stream().map(FunctionDirectoryLoader.Result::getFormat).toArray());
+        for (FunctionDirectoryLoader.Result result : results) {
+            TabulatedFunction function = result.getFunction();
+            assertTrue(function instanceof LinkedListTabulatedFunction);
+            assertEquals(5, function.getCount());
+            assertEquals(16.0, function.getY(4));
+            assertTrue(result.getNanos() > 0);
+        }
+    }
+
+    @Test
+    void reportsFailuresWithoutAbortingBatch() throws IOException {
+        writeAllFormats();
+        Files.write(tempDir.resolve("broken.txt"), "3\n1 2\nоops\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(tempDir.resolve("empty.txt"), new byte[0]);
+
+        FunctionDirectoryLoader loader = new FunctionDirectoryLoader();
+        loader.setSerializedAllowed(true);
+        FunctionDirectoryLoader.Report report = loader.load(tempDir);
+        assertEquals(7, report.getResults().size());
+        assertEquals(2, report.getFailures().size());
+        for (FunctionDirectoryLoader.Result failure : report.getFailures()) {
+            assertEquals(FunctionDirectoryLoader.Format.TEXT, failure.getFormat());
+            assertNull(failure.getFunction());
+            assertNotNull(failure.getError());
+        }
+        Map<Path, TabulatedFunction> functions = report.getFunctions();
+        assertEquals(5, functions.size());
+        assertTrue(functions.containsKey(tempDir.resolve("c-channel.bin")));
+    }
+
+    @Test
+    void filtersFilesByGlob() throws IOException {
+        writeAllFormats();
+        FunctionDirectoryLoader loader = new FunctionDirectoryLoader();
+        loader.setGlob("*.bin");
+        assertEquals(3, loader.load(tempDir).getResults().size());
+    }
+
+    @Test
+    void skipsSerializedFilesByDefault() throws IOException {
+        writeAllFormats();
+        FunctionDirectoryLoader loader = new FunctionDirectoryLoader();
+        assertFalse(loader.isSerializedAllowed());
+        FunctionDirectoryLoader.Report report = loader.load(tempDir);
+
+        assertEquals(4, report.getFunctions().size());
+        List<FunctionDirectoryLoader.Result> failures = report.getFailures();
+        assertEquals(1, failures.size());
+        assertEquals(tempDir.resolve("e-serialized.ser"), failures.get(0).getPath());
+        assertNull(failures.get(0).getFormat());
+        assertThrows(IOException.class, () -> FunctionDirectoryLoader.detectFormat(tempDir.resolve("e-serialized.ser")));
+    }
+
+    @Test
+    void serializedFilesAcceptOnlyFunctionClasses() throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(tempDir.resolve("list.ser")))) {
+            out.writeObject(new ArrayList<>(List.of(1, 2, 3)));
+        }
+        FunctionDirectoryLoader loader = new FunctionDirectoryLoader();
+        loader.setSerializedAllowed(true);
+        FunctionDirectoryLoader.Result result = loader.load(tempDir).getResults().get(0);
+
+        assertEquals(FunctionDirectoryLoader.Format.SERIALIZED, result.getFormat());
+        assertFalse(result.isSuccess());
+        assertTrue(result.getError() instanceof InvalidClassException, String.valueOf(result.getError()));
+    }
+
+    @Test
+    void detectsFormatByHeader() throws IOException {
+        byte[] text = "12\n0 0\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(FunctionDirectoryLoader.Format.TEXT, FunctionDirectoryLoader.detectFormat(text, 8, text.length, false));
+        byte[] binary = {0, 0, 0, 2, 0, 0, 0, 0};
+        assertEquals(FunctionDirectoryLoader.Format.BINARY, FunctionDirectoryLoader.detectFormat(binary, 8, 36, false));
+        assertEquals(FunctionDirectoryLoader.Format.TEXT, FunctionDirectoryLoader.detectFormat(binary, 8, 37, false));
+        assertEquals(FunctionDirectoryLoader.Format.TEXT, FunctionDirectoryLoader.detectFormat(new byte[8], 2, 2, false));
+        byte[] serialized = {(byte) 0xAC, (byte) 0xED, 0, 5, 0x73, 0x72, 0, 0};
+        assertEquals(FunctionDirectoryLoader.Format.SERIALIZED, FunctionDirectoryLoader.detectFormat(serialized, 8, 100, true));
+        assertThrows(IOException.class, () -> FunctionDirectoryLoader.detectFormat(serialized, 8, 100, false));
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        FunctionDirectoryLoader loader = new FunctionDirectoryLoader();
+        assertThrows(IllegalArgumentException.class, () -> loader.setParallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> loader.setFactory(null));
+        assertThrows(IllegalArgumentException.class, () -> loader.setGlob(""));
+        assertThrows(IOException.class, () -> loader.load(tempDir.resolve("missing")));
+    }
+}
@@ -0,0 +1,296 @@
+package io;
+
+import functions.*;
+import functions.factory.ArrayTabulatedFunctionFactory;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FunctionsIOTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static void assertSameFunction(TabulatedFunction expected, TabulatedFunction actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        for (int i = 0; i < expected.getCount(); i++) {
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+        }
+    }
+
+    // <<<<>>>> Бинарный формат через FileChannel
+
+    @Test
+    void channel_roundTrip_bothByteOrders() throws IOException {
+        TabulatedFunction function = new ArrayTabulatedFunction(Math::sin, 0.0, 10.0, 300_000);
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            Path file = tempDir.resolve("function-" + order + ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FunctionsIO.writeTabulatedFunction(channel, function, order);
+            }
+            assertEquals(FunctionsIO.CHANNEL_HEADER_SIZE + 300_000L * 2 * Double.BYTES, Files.size(file));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                assertSameFunction(function, FunctionsIO.readTabulatedFunction(channel, new ArrayTabulatedFunctionFactory()));
+            }
+        }
+    }
+
+    @Test
+    void channel_readsLinkedListWithFactory() throws IOException {
+        TabulatedFunction function = new LinkedListTabulatedFunction(new double[]{1.0, 2.0, 3.0}, new double[]{-1.0, 0.5, 7.0});
+        Path file = tempDir.resolve("small.bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FunctionsIO.writeTabulatedFunction(channel, function);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            TabulatedFunction result = FunctionsIO.readTabulatedFunction(channel, new LinkedListTabulatedFunctionFactory());
+            assertTrue(result instanceof LinkedListTabulatedFunction);
+            assertSameFunction(function, result);
+        }
+    }
+
+    @Test
+    void channel_rejectsForeignAndTruncatedData() throws IOException {
+        Path foreign = tempDir.resolve("foreign.bin");
+        Files.write(foreign, new byte[32]);
+        try (FileChannel channel = FileChannel.open(foreign, StandardOpenOption.READ)) {
+            assertThrows(IOException.class, () -> FunctionsIO.readTabulatedFunction(channel, new ArrayTabulatedFunctionFactory()));
+        }
+
+        Path truncated = tempDir.resolve("truncated.bin");
+        try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FunctionsIO.writeTabulatedFunction(channel, new ArrayTabulatedFunction(new double[]{0, 1, 2}, new double[]{0, 1, 4}));
+            channel.truncate(FunctionsIO.CHANNEL_HEADER_SIZE + 20);
+        }
+        try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.READ)) {
+            assertThrows(IOException.class, () -> FunctionsIO.readTabulatedFunction(channel, new ArrayTabulatedFunctionFactory()));
+        }
+    }
+
+    @Test
+    void channel_rejectsCountLargerThanData() throws IOException {
+        // Заголовок обещает 2^31 - 1 точек, а данных только на две
+        Path corrupt = tempDir.resolve("corrupt.bin");
+        ByteBuffer header = ByteBuffer.allocate(FunctionsIO.CHANNEL_HEADER_SIZE + 32);
+        FunctionsIO.writeChannelHeader(header, Integer.MAX_VALUE, ByteOrder.BIG_ENDIAN);
+        Files.write(corrupt, header.array());
+        try (FileChannel channel = FileChannel.open(corrupt, StandardOpenOption.READ)) {
+            IOException error = assertThrows(IOException.class,
+                    () -> FunctionsIO.readTabulatedFunction(channel, new ArrayTabulatedFunctionFactory()));
+            assertTrue(error.getMessage().contains("Truncated"), error.getMessage());
+        }
+    }
+
+    // <<<<>>>> Текстовый формат
+
+    private static TabulatedFunction readText(String text) throws IOException {
+        return FunctionsIO.readTabulatedFunction(new BufferedReader(new StringReader(text)), new ArrayTabulatedFunctionFactory());
+    }
+
+    @Test
+    void text_acceptsCommaAndDotDecimals() throws IOException {
+        TabulatedFunction f = readText("3\n0,5 -1,25\r\n1.5\t2e3\n2,0;-3.5E-2\n");
+        assertEquals(3, f.getCount());
+        assertEquals(0.5, f.getX(0));
+        assertEquals(-1.25, f.getY(0));
+        assertEquals(1.5, f.getX(1));
+        assertEquals(2000.0, f.getY(1));
+        assertEquals(2.0, f.getX(2));
+        assertEquals(-0.035, f.getY(2));
+    }
+
+    @Test
+    void text_parsesExactlyLikeDoubleParseDouble() throws IOException {
+        Random random = new Random(42);
+        int count = 2000;
+        double[] x = new double[count];
+        double[] y = new double[count];
+        StringBuilder text = new StringBuilder().append(count).append('\n');
+        for (int i = 0; i < count; i++) {
+            x[i] = i + random.nextDouble();
+            y[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+            text.append(x[i]).append(' ').append(String.valueOf(y[i]).replace('.', ',')).append('\n');
+        }
+        TabulatedFunction f = readText(text.toString());
+        for (int i = 0; i < count; i++) {
+            assertEquals(x[i], f.getX(i));
+            assertEquals(y[i], f.getY(i));
+        }
+    }
+
+    @Test
+    void text_readsSeveralFunctionsFromOneReader() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("2\n0 1\n1 2\n2\n5 6\n7 8\n"));
+        TabulatedFunction first = FunctionsIO.readTabulatedFunction(reader, new ArrayTabulatedFunctionFactory());
+        TabulatedFunction second = FunctionsIO.readTabulatedFunction(reader, new LinkedListTabulatedFunctionFactory());
+        assertEquals(2.0, first.getY(1));
+        assertEquals(5.0, second.getX(0));
+        assertEquals(8.0, second.getY(1));
+    }
+
+    @Test
+    void text_reportsLineNumberOnError() {
+        IOException e = assertThrows(IOException.class, () -> readText("3\n0 1\n1 abc\n2 3\n"));
+        assertTrue(e.getMessage().contains("line 3"), e.getMessage());
+
+        e = assertThrows(IOException.class, () -> readText("3\n0 1\n1 2 3\n2 3\n"));
+        assertTrue(e.getMessage().contains("line 3"), e.getMessage());
+
+        e = assertThrows(IOException.class, () -> readText("3\n0 1\n1 2\n"));
+        assertTrue(e.getMessage().contains("end of stream"), e.getMessage());
+
+        assertThrows(IOException.class, () -> readText(""));
+        assertThrows(IOException.class, () -> readText("-2\n"));
+        assertThrows(IOException.class, () -> readText("x\n"));
+    }
+
+    @Test
+    void text_readsInputFile() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Path.of("input/function.txt"))) {
+            TabulatedFunction f = FunctionsIO.readTabulatedFunction(reader, new LinkedListTabulatedFunctionFactory());
+            assertEquals(5, f.getCount());
+            assertEquals(18.0, f.getY(3));
+        }
+    }
+
+    // <<<<>>>> Потоковое чтение
+
+    @Test
+    void readPoints_text_withoutCount_deliversChunks() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            text.append(i).append(' ').append(i * 0.5).append('\n');
+        }
+        List<Integer> chunks = new ArrayList<>();
+        double[] sum = {0.0};
+        long total = FunctionsIO.readPoints(new BufferedReader(new StringReader(text.toString())), 10,
+                (x, y, length) -> {
+                    chunks.add(length);
+                    for (int i = 0; i < length; i++) {
+                        sum[0] += y[i];
+                    }
+                });
+        assertEquals(25, total);
+        assertEquals(List.of(10, 10, 5), chunks);
+        assertEquals(0.5 * 24 * 25 / 2, sum[0]);
+    }
+
+    @Test
+    void readPoints_text_withCount_stopsAfterCount() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("2\n0 1\n1 2\n3\n"));
+        TabulatedFunctionBuilder builder = new TabulatedFunctionBuilder();
+        assertEquals(2, FunctionsIO.readPoints(reader, 8, PointChunkConsumer.into(builder)));
+        assertEquals(2, builder.getCount());
+        assertEquals("3", reader.readLine());
+
+        assertThrows(IOException.class, () ->
+                FunctionsIO.readPoints(new BufferedReader(new StringReader("3\n0 1\n")), 8, (x, y, length) -> { }));
+    }
+
+    @Test
+    void readTabulatedFunctionStreaming_intoLinkedList() throws IOException {
+        TabulatedFunction f = FunctionsIO.readTabulatedFunctionStreaming(
+                new BufferedReader(new StringReader("0,0 1,0\n0,5 2,0\n1,0 4,0\n")), new LinkedListTabulatedFunctionFactory());
+        assertEquals(3, f.getCount());
+        assertEquals(4.0, f.getY(2));
+    }
+
+    @Test
+    void readPoints_binary_countedAndCountless() throws IOException {
+        TabulatedFunction function = new ArrayTabulatedFunction(x -> 2 * x, 0.0, 9.0, 10);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BufferedOutputStream out = new BufferedOutputStream(bytes)) {
+            FunctionsIO.writeTabulatedFunction(out, function);
+        }
+        TabulatedFunctionBuilder counted = new TabulatedFunctionBuilder();
+        long total = FunctionsIO.readPoints(new BufferedInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                true, 3, PointChunkConsumer.into(counted));
+        assertEquals(10, total);
+        assertSameFunction(function, counted.build(new ArrayTabulatedFunctionFactory()));
+
+        ByteArrayOutputStream pairs = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(pairs);
+        for (int i = 0; i < 7; i++) {
+            data.writeDouble(i);
+            data.writeDouble(-i);
+        }
+        TabulatedFunctionBuilder countless = new TabulatedFunctionBuilder();
+        assertEquals(7, FunctionsIO.readPoints(new BufferedInputStream(new ByteArrayInputStream(pairs.toByteArray())),
+                false, 4, PointChunkConsumer.into(countless)));
+        assertEquals(-6.0, countless.build(new ArrayTabulatedFunctionFactory()).getY(6));
+
+        data.writeDouble(1.0);
+        assertThrows(IOException.class, () -> FunctionsIO.readPoints(
+                new BufferedInputStream(new ByteArrayInputStream(pairs.toByteArray())), false, 4, (x, y, length) -> { }));
+    }
+
+    // <<<<>>>> Сериализация
+
+    private static byte[] serialize(TabulatedFunction function) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BufferedOutputStream out = new BufferedOutputStream(bytes)) {
+            FunctionsIO.serialize(out, function);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static TabulatedFunction deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        return FunctionsIO.deserialize(new BufferedInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void serialize_roundTripBothImplementations() throws IOException, ClassNotFoundException {
+        double[] x = {0.0, 0.5, 1.0, 1.5};
+        double[] y = {1.0, -2.0, 3.5, 0.0};
+
+        TabulatedFunction array = deserialize(serialize(new ArrayTabulatedFunction(x, y)));
+        assertTrue(array instanceof ArrayTabulatedFunction);
+        assertSameFunction(new ArrayTabulatedFunction(x, y), array);
+
+        // Раньше LinkedListTabulatedFunction не сериализовалась вовсе (узлы не Serializable)
+        TabulatedFunction list = deserialize(serialize(new LinkedListTabulatedFunction(x, y)));
+        assertTrue(list instanceof LinkedListTabulatedFunction);
+        assertSameFunction(new ArrayTabulatedFunction(x, y), list);
+    }
+
+    @Test
+    void serialize_isCompact() throws IOException {
+        int count = 10_000;
+        byte[] bytes = serialize(new LinkedListTabulatedFunction(Math::sqrt, 0.0, 100.0, count));
+        // 16 байт на точку и небольшой заголовок
+        assertTrue(bytes.length < count * 16 + 256, "size = " + bytes.length);
+    }
+
+    @Test
+    void deserialize_readsLegacyArrayStream() throws IOException, ClassNotFoundException {
+        // Поток стандартной сериализации ArrayTabulatedFunction, записанный до появления компактной формы
+        try (InputStream legacy = getClass().getResourceAsStream("legacy-array-function.ser")) {
+            assertNotNull(legacy);
+            TabulatedFunction f = FunctionsIO.deserialize(new BufferedInputStream(legacy));
+            assertTrue(f instanceof ArrayTabulatedFunction);
+            assertSameFunction(new ArrayTabulatedFunction(new double[]{0, 1, 2, 3}, new double[]{0, 1, 4, 9}), f);
+        }
+    }
+}
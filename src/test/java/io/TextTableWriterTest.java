@@ -0,0 +1,106 @@
+package io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextTableWriterTest {
+
+    private static String write(TextTableWriter writer, StringWriter out, double x, double y) throws IOException {
+        writer.writePoint(x, y);
+        writer.flush();
+        String result = out.toString();
+        out.getBuffer().setLength(0);
+        return result;
+    }
+
+    @Test
+    void shortest_roundTripsRandomValues() throws IOException {
+        StringWriter out = new StringWriter();
+        TextTableWriter writer = new TextTableWriter(out);
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            double x = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(30) - 10);
+            double y = random.nextInt(1000) / 8.0;
+            String[] parts = write(writer, out, x, y).trim().split(" ");
+            assertEquals(x, Double.parseDouble(parts[0]));
+            assertEquals(y, Double.parseDouble(parts[1]));
+            // Запись не длиннее стандартной
+            assertTrue(parts[0].length() <= Double.toString(x).length(), parts[0] + " vs " + x);
+        }
+    }
+
+    @Test
+    void shortest_simpleValues() throws IOException {
+        StringWriter out = new StringWriter();
+        TextTableWriter writer = new TextTableWriter(out);
+        assertEquals("0.1 5.0\n", write(writer, out, 0.1, 5.0));
+        assertEquals("-0.0 1.0E20\n", write(writer, out, -0.0, 1e20));
+        assertEquals("NaN -Infinity\n", write(writer, out, Double.NaN, Double.NEGATIVE_INFINITY));
+    }
+
+    private static String fixed(double value, int precision) {
+        return new BigDecimal(value).setScale(precision, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    @Test
+    void fixed_roundsExactValueHalfUp() throws IOException {
+        StringWriter out = new StringWriter();
+        TextTableWriter writer = new TextTableWriter(out);
+        writer.setPrecision(6);
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            double x = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 8);
+            double y = random.nextInt(2000) - 1000.0;
+            String expectedX = (x < 0 && fixed(x, 6).charAt(0) != '-' ? "-" : "") + fixed(x, 6);
+            assertEquals(expectedX + " " + fixed(y, 6) + "\n", write(writer, out, x, y));
+        }
+        assertEquals(fixed(1e300, 6) + " -0.000000\n", write(writer, out, 1e300, -1e-9));
+        // Совпадает с printf для обычных значений
+        assertEquals(String.format(Locale.ROOT, "%f %f", 2.5, -0.125) + "\n", write(writer, out, 2.5, -0.125));
+    }
+
+    @Test
+    void separatorsAreConfigurable() throws IOException {
+        StringWriter out = new StringWriter();
+        TextTableWriter writer = new TextTableWriter(out);
+        writer.setPrecision(2);
+        writer.setDecimalSeparator(',');
+        writer.setColumnSeparator(';');
+        writer.setLineSeparator("\r\n");
+        writer.writeCount(2);
+        writer.writePoint(1.005, -2.5);
+        writer.writePoint(3.0, 0.125);
+        writer.flush();
+        assertEquals("2\r\n1,00;-2,50\r\n3,00;0,13\r\n", out.toString());
+    }
+
+    @Test
+    void largeOutputIsFlushedInBlocks() throws IOException {
+        StringWriter out = new StringWriter();
+        TextTableWriter writer = new TextTableWriter(out);
+        for (int i = 0; i < 100_000; i++) {
+            writer.writePoint(i, i * 0.5);
+        }
+        writer.flush();
+        String[] lines = out.toString().split("\n");
+        assertEquals(100_000, lines.length);
+        assertEquals("99999.0 49999.5", lines[99_999]);
+    }
+
+    @Test
+    void invalidSettings_throw() {
+        TextTableWriter writer = new TextTableWriter(new StringWriter());
+        assertThrows(IllegalArgumentException.class, () -> writer.setPrecision(-2));
+        assertThrows(IllegalArgumentException.class, () -> writer.setPrecision(18));
+        assertThrows(IllegalArgumentException.class, () -> writer.setLineSeparator(""));
+        assertThrows(IllegalArgumentException.class, () -> new TextTableWriter(null));
+    }
+}
@@ -0,0 +1,61 @@
+package operations;
+
+import functions.MathFunction;
+import functions.SqrFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentralSteppingDifferentialOperatorTest {
+
+    @Test
+    void testDerive_SqrFunction_ExactForQuadratic() {
+        // Центральная разность точна для многочленов степени 2
+        CentralSteppingDifferentialOperator operator = new CentralSteppingDifferentialOperator(0.5);
+        MathFunction derivative = operator.derive(new SqrFunction());
+
+        assertEquals(0.0, derivative.apply(0.0), 1e-12);
+        assertEquals(2.0, derivative.apply(1.0), 1e-12);
+        assertEquals(-6.0, derivative.apply(-3.0), 1e-12);
+    }
+
+    @Test
+    void testDerive_MoreAccurateThanLeft() {
+        MathFunction sin = Math::sin;
+        double x = 1.0;
+        double h = 1e-3;
+
+        double left = new LeftSteppingDifferentialOperator(h).derive(sin).apply(x);
+        double central = new CentralSteppingDifferentialOperator(h).derive(sin).apply(x);
+
+        assertTrue(Math.abs(central - Math.cos(x)) < Math.abs(left - Math.cos(x)) / 100);
+    }
+
+    @Test
+    void testAdaptiveStep() {
+        CentralSteppingDifferentialOperator operator = new CentralSteppingDifferentialOperator();
+        assertTrue(operator.isAdaptiveStep());
+        MathFunction derivative = operator.derive(Math::exp);
+
+        for (double x : new double[]{-5.0, 0.0, 1.0, 10.0}) {
+            assertEquals(Math.exp(x), derivative.apply(x), 1e-9 * Math.max(1.0, Math.exp(x)));
+        }
+    }
+
+    @Test
+    void testConstructor_ThrowsException_OnInvalidStep() {
+        assertThrows(IllegalArgumentException.class, () -> new CentralSteppingDifferentialOperator(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new CentralSteppingDifferentialOperator(Double.NaN));
+    }
+
+    @Test
+    void testDisableAdaptiveStep_RequiresStep() {
+        CentralSteppingDifferentialOperator operator = new CentralSteppingDifferentialOperator();
+        assertThrows(IllegalStateException.class, () -> operator.setAdaptiveStep(false));
+        assertTrue(operator.isAdaptiveStep());
+
+        operator.setStep(1e-3);
+        operator.setAdaptiveStep(false);
+        assertEquals(Math.cos(1.0), operator.derive(Math::sin).apply(1.0), 1e-6);
+    }
+}
@@ -0,0 +1,109 @@
+package operations;
+
+import functions.MathFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationCacheTest {
+
+    // Функция, считающая количество своих вызовов
+    private static class CountingFunction implements MathFunction {
+        int calls = 0;
+
+        @Override
+        public double apply(double x) {
+            calls++;
+            return Math.sin(x);
+        }
+    }
+
+    @Test
+    void repeatedArgumentIsComputedOnce() {
+        CountingFunction f = new CountingFunction();
+        EvaluationCache cache = new EvaluationCache(f, 16, 1e-9);
+
+        assertEquals(Math.sin(1.5), cache.apply(1.5));
+        assertEquals(Math.sin(1.5), cache.apply(1.5));
+        assertEquals(1, f.calls);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void argumentsWithinToleranceShareValue() {
+        CountingFunction f = new CountingFunction();
+        EvaluationCache cache = new EvaluationCache(f, 16, 1e-9);
+
+        // 0.3 - 0.1 != 0.2 в арифметике double, но отличается лишь на ulp
+        cache.apply(0.2);
+        cache.apply(0.3 - 0.1);
+        assertEquals(1, f.calls);
+    }
+
+    @Test
+    void boundedCapacityEvictsOldValues() {
+        CountingFunction f = new CountingFunction();
+        EvaluationCache cache = new EvaluationCache(f, 4, 1e-9);
+
+        for (int i = 0; i < 100; i++) {
+            cache.apply(i * 0.1);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Math.sin(i * 0.1), cache.apply(i * 0.1));
+        }
+        assertTrue(f.calls > 100);
+    }
+
+    @Test
+    void constructorValidatesArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(null, 4, 1e-9));
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(Math::sin, 0, 1e-9));
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(Math::sin, 4, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(Math::sin, 4, Double.NaN));
+    }
+
+    @Test
+    void cachedLeftDerivativeOnGridHalvesEvaluations() {
+        double h = 0.01;
+        int count = 1000;
+
+        CountingFunction plain = new CountingFunction();
+        LeftSteppingDifferentialOperator op = new LeftSteppingDifferentialOperator(h);
+        MathFunction plainDerivative = op.derive(plain);
+
+        CountingFunction memo = new CountingFunction();
+        op.setCacheSize(64);
+        MathFunction cachedDerivative = op.derive(memo);
+
+        for (int i = 0; i < count; i++) {
+            double x = 1.0 + i * h;
+            assertEquals(plainDerivative.apply(x), cachedDerivative.apply(x), 1e-9);
+        }
+        assertEquals(2 * count, plain.calls);
+        assertEquals(count + 1, memo.calls);
+    }
+
+    @Test
+    void setCacheSize_negative_throws() {
+        RightSteppingDifferentialOperator op = new RightSteppingDifferentialOperator(0.1);
+        assertEquals(0, op.getCacheSize());
+        assertThrows(IllegalArgumentException.class, () -> op.setCacheSize(-1));
+    }
+
+    @Test
+    void cachedDerivativeFollowsStepChanges() {
+        CentralSteppingDifferentialOperator op = new CentralSteppingDifferentialOperator(1.0);
+        op.setCacheSize(64);
+        MathFunction derivative = op.derive(Math::exp);
+        derivative.apply(1.0);
+
+        // x ± h отличаются меньше, чем допуск, рассчитанный для прежнего шага 1.0
+        op.setStep(1e-8);
+        assertEquals(Math.exp(1.0), derivative.apply(1.0), 1e-6);
+        assertEquals(Math.exp(2.0), derivative.apply(2.0), 1e-6);
+
+        op.setAdaptiveStep(true);
+        assertEquals(Math.exp(1.5), derivative.apply(1.5), 1e-8);
+    }
+}
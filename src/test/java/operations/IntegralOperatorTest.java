@@ -0,0 +1,114 @@
+package operations;
+
+import functions.*;
+import functions.factory.LinkedListTabulatedFunctionFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntegralOperatorTest {
+
+    // <<<<<>>>>> Табулированные функции
+
+    @Test
+    void integrate_trapezoid_isExactForLinear() {
+        TabulatedFunction f = new ArrayTabulatedFunction(new double[]{0.0, 0.5, 2.0, 3.0}, new double[]{1.0, 2.0, 5.0, 7.0});
+        IntegralOperator op = new IntegralOperator();
+        // f(x) = 2x + 1 на [0, 3] -> 9 + 3 = 12
+        assertEquals(12.0, op.integrate(f), 1e-12);
+    }
+
+    @Test
+    void integrate_simpson_isExactForQuadraticOnNonUniformGrid() {
+        // Нечётное число отрезков: последний интегрируется параболой по трём последним узлам
+        double[] x = {0.0, 0.2, 0.7, 1.0, 1.6, 2.0};
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = 3 * x[i] * x[i] - x[i];
+        }
+        IntegralOperator op = new IntegralOperator();
+        op.setMethod(IntegralOperator.Method.SIMPSON);
+        // ∫_0^2 (3x^2 - x) dx = 8 - 2 = 6
+        assertEquals(6.0, op.integrate(new LinkedListTabulatedFunction(x, y)), 1e-12);
+    }
+
+    @Test
+    void integrate_simpson_moreAccurateThanTrapezoid() {
+        TabulatedFunction f = new ArrayTabulatedFunction(Math::sin, 0.0, Math.PI, 101);
+        IntegralOperator op = new IntegralOperator();
+        double trapezoid = op.integrate(f);
+        op.setMethod(IntegralOperator.Method.SIMPSON);
+        double simpson = op.integrate(f);
+
+        assertEquals(2.0, simpson, 1e-7);
+        assertTrue(Math.abs(simpson - 2.0) < Math.abs(trapezoid - 2.0));
+    }
+
+    @Test
+    void cumulative_returnsAntiderivativeViaFactory() {
+        TabulatedFunction f = new ArrayTabulatedFunction(x -> x * x, 0.0, 3.0, 31);
+        IntegralOperator op = new IntegralOperator(new LinkedListTabulatedFunctionFactory());
+        op.setMethod(IntegralOperator.Method.SIMPSON);
+        TabulatedFunction antiderivative = op.cumulative(f);
+
+        assertTrue(antiderivative instanceof LinkedListTabulatedFunction);
+        assertEquals(31, antiderivative.getCount());
+        for (int i = 0; i < antiderivative.getCount(); i++) {
+            double x = antiderivative.getX(i);
+            assertEquals(x * x * x / 3, antiderivative.getY(i), 1e-12);
+        }
+        assertEquals(op.integrate(f), antiderivative.getY(30), 1e-12);
+    }
+
+    @Test
+    void parallelMatchesSequential() {
+        TabulatedFunction f = new ArrayTabulatedFunction(x -> Math.exp(-x) * Math.cos(3 * x), 0.0, 10.0, 200_001);
+        for (IntegralOperator.Method method : IntegralOperator.Method.values()) {
+            IntegralOperator sequential = new IntegralOperator();
+            sequential.setMethod(method);
+            IntegralOperator parallel = new IntegralOperator();
+            parallel.setMethod(method);
+            parallel.setParallel(true);
+
+            assertEquals(sequential.integrate(f), parallel.integrate(f), 1e-12);
+
+            TabulatedFunction a = sequential.cumulative(f);
+            TabulatedFunction b = parallel.cumulative(f);
+            for (int i = 0; i < f.getCount(); i += 997) {
+                assertEquals(a.getY(i), b.getY(i), 1e-12);
+            }
+            assertEquals(a.getY(f.getCount() - 1), b.getY(f.getCount() - 1), 1e-12);
+        }
+    }
+
+    // <<<<<>>>>> Адаптивная квадратура
+
+    @Test
+    void integrate_mathFunction_gaussKronrod() {
+        IntegralOperator op = new IntegralOperator();
+        assertEquals(2.0, op.integrate(Math::sin, 0.0, Math.PI), 1e-12);
+        assertEquals(-2.0, op.integrate(Math::sin, Math.PI, 0.0), 1e-12);
+        assertEquals(Math.E - 1, op.integrate(Math::exp, 0.0, 1.0), 1e-12);
+        assertEquals(0.0, op.integrate(Math::exp, 1.0, 1.0));
+    }
+
+    @Test
+    void integrate_mathFunction_withKink() {
+        IntegralOperator op = new IntegralOperator();
+        op.setTolerance(1e-12);
+        // ∫_{-1}^{2} |x| dx = 0.5 + 2 = 2.5
+        assertEquals(2.5, op.integrate(Math::abs, -1.0, 2.0), 1e-10);
+    }
+
+    @Test
+    void invalidArguments_throw() {
+        IntegralOperator op = new IntegralOperator();
+        assertThrows(IllegalArgumentException.class, () -> op.integrate(null));
+        assertThrows(IllegalArgumentException.class, () -> op.cumulative(null));
+        assertThrows(IllegalArgumentException.class, () -> op.integrate(null, 0.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> op.integrate(Math::sin, 0.0, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> op.setTolerance(0.0));
+        assertThrows(IllegalArgumentException.class, () -> op.setMethod(null));
+        assertThrows(IllegalArgumentException.class, () -> new IntegralOperator(null));
+    }
+}
@@ -90,4 +90,14 @@ class LeftSteppingDifferentialOperatorTest {
         LeftSteppingDifferentialOperator op1 = new LeftSteppingDifferentialOperator();
         assertThrows(IllegalArgumentException.class, () -> op1.setStep(0.0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void adaptiveStepIsUsed() {
+        LeftSteppingDifferentialOperator op = new LeftSteppingDifferentialOperator(1.0);
+        op.setAdaptiveStep(true);
+        MathFunction derivative = op.derive(Math::exp);
+        for (double x : new double[]{-5.0, 0.0, 1.0, 10.0}) {
+            assertEquals(Math.exp(x), derivative.apply(x), 1e-6 * Math.max(1.0, Math.exp(x)));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package operations;
+
+import functions.MathFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RichardsonSteppingDifferentialOperatorTest {
+
+    @Test
+    void testDerive_ExactForQuartic() {
+        // Экстраполяция Ричардсона точна для многочленов степени 4
+        MathFunction quartic = x -> x * x * x * x - 2 * x * x * x + x;
+        RichardsonSteppingDifferentialOperator operator = new RichardsonSteppingDifferentialOperator(0.5);
+        MathFunction derivative = operator.derive(quartic);
+
+        for (double x : new double[]{-1.0, 0.0, 0.7, 2.0}) {
+            assertEquals(4 * x * x * x - 6 * x * x + 1, derivative.apply(x), 1e-10);
+        }
+    }
+
+    @Test
+    void testDerive_LargeStepBeatsCentral() {
+        MathFunction sin = Math::sin;
+        double x = 0.5;
+        double h = 1e-2;
+
+        double central = new CentralSteppingDifferentialOperator(h).derive(sin).apply(x);
+        double richardson = new RichardsonSteppingDifferentialOperator(h).derive(sin).apply(x);
+
+        assertTrue(Math.abs(richardson - Math.cos(x)) < 1e-9);
+        assertTrue(Math.abs(richardson - Math.cos(x)) < Math.abs(central - Math.cos(x)));
+    }
+
+    @Test
+    void testAdaptiveStep() {
+        RichardsonSteppingDifferentialOperator operator = new RichardsonSteppingDifferentialOperator(0.1);
+        assertFalse(operator.isAdaptiveStep());
+        operator.setAdaptiveStep(true);
+        MathFunction derivative = operator.derive(Math::sin);
+
+        for (double x : new double[]{-3.0, 0.0, 1.0, 10.0}) {
+            assertEquals(Math.cos(x), derivative.apply(x), 1e-9);
+        }
+    }
+
+    @Test
+    void testDisableAdaptiveStep_RequiresStep() {
+        RichardsonSteppingDifferentialOperator operator = new RichardsonSteppingDifferentialOperator();
+        assertThrows(IllegalStateException.class, () -> operator.setAdaptiveStep(false));
+        operator.setStep(0.1);
+        operator.setAdaptiveStep(false);
+        assertFalse(operator.isAdaptiveStep());
+    }
+}
@@ -44,8 +44,7 @@ public class RightSteppingDifferentialOperatorTest {
 
         double x = 2.0;
         double actual = derived.apply(x);
-        // Текущая реализация: (f(x) - f(x + h)) / h = - (f(x + h) - f(x)) / h → = -f'(x)
-        double expected = -derivativeOfSquare(x); // -4.0
+        double expected = derivativeOfSquare(x); // 4.0
 
         assertEquals(expected, actual, 1e-4);
     }
@@ -58,7 +57,7 @@ public class RightSteppingDifferentialOperatorTest {
 
         double x = 0.0;
         double actual = derived.apply(x);
-        double expected = -Math.cos(0.0); // -1.0
+        double expected = derivativeOfSin(0.0); // 1.0
 
         assertEquals(expected, actual, 1e-5);
     }
@@ -66,7 +65,7 @@ public class RightSteppingDifferentialOperatorTest {
     @Test
     void testAccuracyWithSmallerStep() {
         double x = 1.0;
-        double trueDerivative = -derivativeOfSquare(x); // -2.0
+        double trueDerivative = derivativeOfSquare(x); // 2.0
 
         RightSteppingDifferentialOperator op1 = new RightSteppingDifferentialOperator(1e-2);
         RightSteppingDifferentialOperator op2 = new RightSteppingDifferentialOperator(1e-4);
@@ -79,4 +78,14 @@ public class RightSteppingDifferentialOperatorTest {
 
         assertTrue(error2 < error1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void adaptiveStepIsUsed() {
+        RightSteppingDifferentialOperator op = new RightSteppingDifferentialOperator(1.0);
+        op.setAdaptiveStep(true);
+        MathFunction derivative = op.derive(Math::exp);
+        for (double x : new double[]{-5.0, 0.0, 1.0, 10.0}) {
+            assertEquals(Math.exp(x), derivative.apply(x), 1e-6 * Math.max(1.0, Math.exp(x)));
+        }
+    }
+}
@@ -4,6 +4,11 @@ import concurrent.SynchronizedTabulatedFunction;
 import functions.*;
 import functions.factory.*;
 import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TabulatedDifferentialOperatorTest {
@@ -226,4 +231,155 @@ public class TabulatedDifferentialOperatorTest {
         }
     }
 
+    // <<<<<>>>>> Схемы повышенного порядка и deriveN
+
+    @Test
+    void setScheme_null_throwsIllegalArgumentException() {
+        TabulatedDifferentialOperator op = new TabulatedDifferentialOperator();
+        assertEquals(TabulatedDifferentialOperator.Scheme.TWO_POINT, op.getScheme());
+        assertThrows(IllegalArgumentException.class, () -> op.setScheme(null));
+    }
+
+    @Test
+    void derive_threePoint_isExactForQuadraticOnNonUniformGrid() {
+        // f(x) = x^2 - 3x + 1 -> f'(x) = 2x - 3, трёхточечная схема точна для многочленов степени 2
+        double[] x = {0.0, 0.3, 1.0, 1.2, 2.5, 4.0};
+        double[] y = new double[x.length];
+        QuadraticFunction f = new QuadraticFunction(1.0, -3.0, 1.0);
+        for (int i = 0; i < x.length; i++) {
+            y[i] = f.apply(x[i]);
+        }
+
+        TabulatedDifferentialOperator op = new TabulatedDifferentialOperator();
+        op.setScheme(TabulatedDifferentialOperator.Scheme.THREE_POINT);
+        TabulatedFunction df = op.derive(new ArrayTabulatedFunction(x, y));
+
+        for (int i = 0; i < x.length; i++) {
+            assertEquals(2 * x[i] - 3, df.getY(i), 1e-10);
+        }
+    }
+
+    @Test
+    void derive_fivePoint_isExactForQuarticOnNonUniformGrid() {
+        // f(x) = x^4 -> f'(x) = 4x^3
+        double[] x = {-1.0, -0.5, 0.1, 0.4, 1.0, 1.7, 2.0};
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = Math.pow(x[i], 4);
+        }
+
+        TabulatedDifferentialOperator op = new TabulatedDifferentialOperator(new LinkedListTabulatedFunctionFactory());
+        op.setScheme(TabulatedDifferentialOperator.Scheme.FIVE_POINT);
+        TabulatedFunction df = op.derive(new LinkedListTabulatedFunction(x, y));
+
+        assertTrue(df instanceof LinkedListTabulatedFunction);
+        for (int i = 0; i < x.length; i++) {
+            assertEquals(4 * Math.pow(x[i], 3), df.getY(i), 1e-9);
+        }
+    }
+
+    @Test
+    void derive_fivePoint_fallsBackToThreePointForShortTables() {
+        TabulatedFunction f = new ArrayTabulatedFunction(
+                new double[]{0.0, 1.0, 2.0},
+                new double[]{0.0, 1.0, 4.0}
+        );
+        TabulatedDifferentialOperator op = new TabulatedDifferentialOperator();
+        op.setScheme(TabulatedDifferentialOperator.Scheme.FIVE_POINT);
+        TabulatedFunction df = op.derive(f);
+
+        assertEquals(0.0, df.getY(0), 1e-12);
+        assertEquals(2.0, df.getY(1), 1e-12);
+        assertEquals(4.0, df.getY(2), 1e-12);
+    }
+
+    @Test
+    void deriveN_secondDerivativeOfCubic() {
+        // f(x) = x^3 -> f''(x) = 6x
+        TabulatedFunction f = new ArrayTabulatedFunction(x -> x * x * x, 0.0, 2.0, 21);
+        TabulatedDifferentialOperator op = new TabulatedDifferentialOperator();
+        op.setScheme(TabulatedDifferentialOperator.Scheme.FIVE_POINT);
+        TabulatedFunction d2 = op.deriveN(f, 2);
+
+        assertEquals(21, d2.getCount());
+        for (int i = 0; i < d2.getCount(); i++) {
+            assertEquals(6 * d2.getX(i), d2.getY(i), 1e-8);
+        }
+    }
+
+    @Test
+    void deriveN_matchesRepeatedDerive() {
+        TabulatedFunction f = new LinkedListTabulatedFunction(new QuadraticFunction(2.0, 1.0, -1.0), -1.0, 3.0, 9);
+        TabulatedDifferentialOperator op = new TabulatedDifferentialOperator();
+
+        TabulatedFunction repeated = op.derive(op.derive(op.derive(f)));
+        TabulatedFunction direct = op.deriveN(f, 3);
+
+        for (int i = 0; i < f.getCount(); i++) {
+            assertEquals(repeated.getY(i), direct.getY(i), 1e-12);
+        }
+    }
+
+    @Test
+    void deriveN_zeroOrderReturnsCopy_negativeOrderThrows() {
+        TabulatedFunction f = new ArrayTabulatedFunction(new double[]{0.0, 1.0}, new double[]{3.0, 5.0});
+        TabulatedDifferentialOperator op = new TabulatedDifferentialOperator();
+
+        TabulatedFunction copy = op.deriveN(f, 0);
+        assertNotSame(f, copy);
+        assertEquals(3.0, copy.getY(0));
+        assertEquals(5.0, copy.getY(1));
+        assertThrows(IllegalArgumentException.class, () -> op.deriveN(f, -1));
+    }
+
+    @Test
+    void deriveSynchronously_largeFunction_leavesFunctionWritable() throws InterruptedException {
+        CountDownLatch deriving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Фабрика вызывается уже после вычисления производной и задерживает её завершение
+        TabulatedFunctionFactory blocking = new TabulatedFunctionFactory() {
+            @Override
+            public TabulatedFunction create(double[] xValues, double[] yValues) {
+                deriving.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new ArrayTabulatedFunction(xValues, yValues);
+            }
+        };
+        TabulatedDifferentialOperator operator = new TabulatedDifferentialOperator(blocking);
+        SynchronizedTabulatedFunction syncBase = new SynchronizedTabulatedFunction(
+                new ArrayTabulatedFunction(new LinearFunction(1.0, 0.0), 0.0, 1.0, 200_000)
+        );
+
+        AtomicReference<TabulatedFunction> derived = new AtomicReference<>();
+        Thread derivation = new Thread(() -> derived.set(operator.deriveSynchronously(syncBase)));
+        derivation.start();
+        // Составная запись берёт монитор обёртки, который прежняя реализация держала всё дифференцирование
+        Thread writer = new Thread(() -> syncBase.doSynchronously(f -> {
+            f.setY(0, 42.0);
+            return null;
+        }));
+        try {
+            assertTrue(deriving.await(5, TimeUnit.SECONDS));
+
+            // Пока дифференцирование не завершено, запись из другого потока его не ждёт
+            writer.start();
+            writer.join(1000);
+            assertFalse(writer.isAlive());
+            assertTrue(derivation.isAlive());
+        } finally {
+            release.countDown();
+            derivation.join(5000);
+            writer.join(5000);
+        }
+
+        assertFalse(derivation.isAlive());
+        assertEquals(200_000, derived.get().getCount());
+        assertEquals(1.0, derived.get().getY(100_000), 1e-6);
+        assertEquals(42.0, syncBase.getY(0));
+    }
+
 }
\ No newline at end of file